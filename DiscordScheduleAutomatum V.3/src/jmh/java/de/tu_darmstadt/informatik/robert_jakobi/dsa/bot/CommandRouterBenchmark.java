@@ -0,0 +1,54 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.bot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link CommandRouter} with the former split/regex based parsing.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandRouterBenchmark {
+    @Param({ "!ping", //
+            "!poke next", //
+            "!newpoll game;Wann spielen wir?;01.01.2030;02.01.2030;03.01.2030;04.01.2030", //
+            "Hat jemand am Wochenende Zeit?" })
+    public String message;
+
+    /**
+     * Parsing as done before the command router.
+     */
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        String[] message_elem = this.message.replaceFirst("[\n]", " ").split(" ", 2);
+        blackhole.consume(message_elem[0]);
+        if (message_elem.length < 2) return;
+        String[] elements = message_elem[1].split(";", 3);
+        blackhole.consume(elements);
+        if (message_elem[0].equals("!newpoll") && elements.length > 2) blackhole.consume(elements[2].split(";"));
+    }
+
+    @Benchmark
+    public CommandRouter.Call router() {
+        return CommandRouter.route(this.message);
+    }
+}
@@ -3,20 +3,45 @@ package de.tu_darmstadt.informatik.robert_jakobi.dsa;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import de.tu_darmstadt.informatik.robert_jakobi.dsa.bot.Bot;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.PollArchive;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.PollMirror;
 import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.DateHelper;
 import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.FileManager;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.LeaderLock;
 import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.SystemProperties;
 
 /**
- * Initialises resource paths, sets up logging and starts {@link Bot}.
+ * Initialises resource paths, sets up logging and starts {@link Bot}.<br>
+ * Only one instance per resource directory is active. Any further instance
+ * started on the same directory stays on standby, mirrors the active polls and
+ * takes over once the active instance dies.<br>
+ * With the arguments {@code export <file>} or {@code import <file>} all polls
+ * and recurrences are written to or restored from a portable archive instead.
  * 
  * @author Big_Reddy
  * @since 11
- * @version 3
+ * @version 3.2
  *
  */
 public class Main {
+    /**
+     * Interval in which a standby tries to take over, in milliseconds
+     */
+    private static final long STANDBY_INTERVAL = 1000;
+
+    /**
+     * Lock marking the active instance; referenced for the lifetime of the
+     * process as it is released once closed
+     */
+    private static LeaderLock leaderLock;
+
+    /**
+     * Standard output before it is redirected to the log
+     */
+    private static final PrintStream console = System.out;
+
     static {
         setupLogging();
     }
@@ -27,11 +52,44 @@ public class Main {
      * @param args
      *            Arguments passed by environment
      * @throws IOException
-     *             Thrown if issues on the creation of the file structure or on
-     *             reading the bot key occurred
+     *             Thrown if issues on the creation of the file structure, on
+     *             reading the bot key or on accessing the lock file occurred
      */
     public static void main(String[] args) throws IOException {
-        new Bot(FileManager.loadFromFile(SystemProperties.keyPath));
+        if (args.length == 2 && args[0].equals("export")) {
+            console.println("Exported " + PollArchive.exportTo(Path.of(args[1])) + " poll(s) and recurrence(s)");
+            return;
+        }
+        if (args.length == 2 && args[0].equals("import")) {
+            leaderLock = new LeaderLock(FileManager.getPath(SystemProperties.lockPath));
+            if (!leaderLock.tryAcquire()) {
+                console.println("Stop all running instances before importing");
+                return;
+            }
+            console.println("Imported " + PollArchive.importFrom(Path.of(args[1])) + " poll(s) and recurrence(s)");
+            return;
+        }
+
+        String botToken = FileManager.loadFromFile(SystemProperties.keyPath);
+        leaderLock = new LeaderLock(FileManager.getPath(SystemProperties.lockPath));
+        if (leaderLock.tryAcquire()) {
+            new Bot(botToken);
+            return;
+        }
+
+        System.out.println("Another instance is active, running as standby");
+        PollMirror mirror = new PollMirror();
+        try {
+            while (!leaderLock.tryAcquire()) {
+                mirror.refresh();
+                Thread.sleep(STANDBY_INTERVAL);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        System.out.println("Promoted to active instance");
+        new Bot(botToken, mirror.refresh());
     }
 
     private static void setupLogging() {
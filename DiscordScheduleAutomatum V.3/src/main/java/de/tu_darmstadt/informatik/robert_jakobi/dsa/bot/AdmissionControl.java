@@ -0,0 +1,213 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.bot;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.TokenBucket;
+
+/**
+ * Admission control for command calls. Limits the rate of commands per user,
+ * channel and guild, shares the result of identical commands issued within a
+ * short window and executes admitted commands on a bounded queue.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+public class AdmissionControl {
+    /**
+     * Outcome of a command submission.
+     */
+    public enum Verdict {
+        /**
+         * Command got queued for execution
+         */
+        ADMITTED,
+        /**
+         * Identical command is already running or ran recently; its result is
+         * shared
+         */
+        DUPLICATE,
+        /**
+         * Rate limit exceeded; caller should be told once
+         */
+        THROTTLED,
+        /**
+         * Rate limit still exceeded after caller was told; ignore silently
+         */
+        DROPPED,
+        /**
+         * Command queue is full
+         */
+        OVERLOADED
+    }
+
+    /**
+     * Verdict on a submitted command with its (possibly shared) result.
+     *
+     * @param verdict
+     *            Outcome of the submission
+     * @param result
+     *            Result of the command; {@code null} unless admitted or
+     *            duplicate
+     */
+    public record Admission(Verdict verdict, CompletableFuture<String> result) {}
+
+    /**
+     * Result of a command together with its creation time.
+     */
+    private record InFlight(CompletableFuture<String> result, long created) {
+        boolean isExpired(long now) {
+            return this.result.isDone() && now - this.created > DEDUP_WINDOW.toNanos();
+        }
+    }
+
+    private static final int USER_BURST = 5;
+    private static final Duration USER_REFILL = Duration.ofSeconds(3);
+    private static final int CHANNEL_BURST = 10;
+    private static final Duration CHANNEL_REFILL = Duration.ofSeconds(1);
+    private static final int GUILD_BURST = 20;
+    private static final Duration GUILD_REFILL = Duration.ofMillis(500);
+
+    /**
+     * Time a finished result is shared with identical commands
+     */
+    private static final Duration DEDUP_WINDOW = Duration.ofSeconds(10);
+
+    private static final int WORKERS = 4;
+    private static final int QUEUE_CAPACITY = 32;
+
+    private final Map<String, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> channelBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> guildBuckets = new ConcurrentHashMap<>();
+
+    /**
+     * Users already told about exceeding their rate limit
+     */
+    private final Set<String> throttledUsers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Running or recently finished commands by their deduplication key
+     */
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor workers = new ThreadPoolExecutor(WORKERS, WORKERS, 0, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), daemonThreads("dsa-command"));
+
+    private final ScheduledExecutorService janitor = Executors
+            .newSingleThreadScheduledExecutor(daemonThreads("dsa-admission-janitor"));
+
+    /**
+     * Constructor of {@link AdmissionControl}. Starts periodic removal of idle
+     * state.
+     */
+    public AdmissionControl() {
+        this.janitor.scheduleWithFixedDelay(this::evictIdle, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Submits a command for execution if all rate limits allow it.
+     *
+     * @param userId
+     *            ID of the calling user
+     * @param channelId
+     *            ID of the channel the command was issued in
+     * @param guildId
+     *            ID of the guild the command was issued in
+     * @param dedupKey
+     *            Key identifying identical commands; {@code null} if the
+     *            command must always run
+     * @param command
+     *            Command to run, returning the text of the answer
+     * @return Verdict and result of the command
+     */
+    public Admission submit(String userId, String channelId, String guildId, String dedupKey, Supplier<String> command) {
+        if (!this.acquire(userId, channelId, guildId)) {
+            return new Admission(this.throttledUsers.add(userId) ? Verdict.THROTTLED : Verdict.DROPPED, null);
+        }
+        this.throttledUsers.remove(userId);
+
+        long now = System.nanoTime();
+        InFlight created = new InFlight(new CompletableFuture<>(), now);
+        InFlight entry = dedupKey == null ? created
+                : this.inFlight.compute(dedupKey, (k, old) -> old != null && !old.isExpired(now) ? old : created);
+        if (entry != created) return new Admission(Verdict.DUPLICATE, entry.result());
+
+        try {
+            this.workers.execute(() -> {
+                try {
+                    created.result().complete(command.get());
+                } catch (RuntimeException e) {
+                    created.result().completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (dedupKey != null) this.inFlight.remove(dedupKey, created);
+            return new Admission(Verdict.OVERLOADED, null);
+        }
+        return new Admission(Verdict.ADMITTED, created.result());
+    }
+
+    /**
+     * Stops accepting commands and releases all threads.
+     */
+    public void shutdown() {
+        this.janitor.shutdownNow();
+        this.workers.shutdown();
+    }
+
+    /**
+     * Takes a token of the user, channel and guild bucket. If any of them is
+     * empty, already taken tokens are given back.
+     */
+    private boolean acquire(String userId, String channelId, String guildId) {
+        TokenBucket user = this.userBuckets.computeIfAbsent(userId, k -> new TokenBucket(USER_BURST, USER_REFILL));
+        if (!user.tryConsume()) return false;
+        TokenBucket channel = this.channelBuckets.computeIfAbsent(channelId,
+                k -> new TokenBucket(CHANNEL_BURST, CHANNEL_REFILL));
+        if (!channel.tryConsume()) {
+            user.refund();
+            return false;
+        }
+        TokenBucket guild = this.guildBuckets.computeIfAbsent(guildId, k -> new TokenBucket(GUILD_BURST, GUILD_REFILL));
+        if (!guild.tryConsume()) {
+            channel.refund();
+            user.refund();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes full buckets and expired results, as they carry no state.
+     */
+    private void evictIdle() {
+        long now = System.nanoTime();
+        this.userBuckets.values().removeIf(TokenBucket::isFull);
+        this.channelBuckets.values().removeIf(TokenBucket::isFull);
+        this.guildBuckets.values().removeIf(TokenBucket::isFull);
+        this.throttledUsers.retainAll(this.userBuckets.keySet());
+        this.inFlight.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,17 +1,30 @@
 package de.tu_darmstadt.informatik.robert_jakobi.dsa.bot;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.security.auth.login.LoginException;
 
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.bot.CommandRouter.Call;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.AvailabilityIndex;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.AvailabilityIndex.Availability;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.GuildConfig;
 import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.Poll;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.Recurrence;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.Reply;
 import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.DateFormat;
 import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.DateHelper;
 import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.ICalConstructor;
@@ -20,9 +33,18 @@ import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.OnlineStatus;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.ReadyEvent;
+import net.dv8tion.jda.api.events.ReconnectedEvent;
+import net.dv8tion.jda.api.events.ResumedEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.react.GenericMessageReactionEvent;
+import net.dv8tion.jda.api.events.message.react.MessageReactionAddEvent;
+import net.dv8tion.jda.api.events.message.react.MessageReactionRemoveEvent;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
 import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.requests.ErrorResponse;
 import net.dv8tion.jda.api.requests.GatewayIntent;
 import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.utils.ChunkingFilter;
@@ -33,7 +55,7 @@ import net.dv8tion.jda.api.utils.MemberCachePolicy;
  *
  * @author Big_Reddy
  * @since 17
- * @version 3.1
+ * @version 3.3
  */
 public class Bot {
     /**
@@ -44,25 +66,32 @@ public class Bot {
     /**
      * Currently running polls
      */
-    private final Map<String, Poll> runningPolls = Poll.loadPolls();
+    private final Map<String, Poll> runningPolls;
 
     /**
-     * A list with all currently available commands with their parameters and
-     * description.
+     * Rate limiting and queueing of command calls
      */
-    private static final List<String[]> commands;
+    private final AdmissionControl admissionControl = new AdmissionControl();
 
-    static {
-        commands = List.of(//
-                new String[] { "!newpoll", "{name};{question};{options}+", "Creates a new poll" }, //
-                new String[] { "!endpoll", "{name}<;keep>", "Evaluates <and deletes> given poll" }, //
-                new String[] { "!delpoll", "{name}", "Deletes a existing poll" }, //
-                new String[] { "!poke", "{name} <{emote}>", "Mentions all, that hadn't reacted to the poll <with emote>" }, //
-                new String[] { "!who", "{id} <{emote}>", "Lists all, that reacted to the message <with emote>" }, //
-                new String[] { "!help", "", "This :eyes:" }, //
-                new String[] { "!ping", "", "Tests if bot is up and running" } //
-        );
-    }
+    /**
+     * Scheduler of recurring polls
+     */
+    private final RecurrenceScheduler recurrenceScheduler;
+
+    /**
+     * Per-guild configuration
+     */
+    private final ConfigStore configStore;
+
+    /**
+     * Voters of the running polls
+     */
+    private final AvailabilityIndex availability = new AvailabilityIndex();
+
+    /**
+     * Reconciliation of polls after (re)connecting
+     */
+    private final Reconciler reconciler = new Reconciler(this, this.availability);
 
     /**
      * Constructor of {@link Bot}. <br>
@@ -72,6 +101,26 @@ public class Bot {
      *            Token of application this bot shall connect to
      */
     public Bot(final String botToken) {
+        this(botToken, Poll.loadPolls());
+    }
+
+    /**
+     * Constructor of {@link Bot} taking over already loaded polls. <br>
+     * Initialises vital bot API and fail, if not possible.
+     *
+     * @param botToken
+     *            Token of application this bot shall connect to
+     * @param polls
+     *            Currently running polls by name
+     */
+    public Bot(final String botToken, final Map<String, Poll> polls) {
+        this.runningPolls = new ConcurrentHashMap<>(polls);
+        this.runningPolls.values().forEach(this.availability::track);
+        try {
+            this.configStore = new ConfigStore();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         JDABuilder builder = JDABuilder.createDefault(botToken) //
                 .setChunkingFilter(ChunkingFilter.ALL) //
                 .setMemberCachePolicy(MemberCachePolicy.ALL) //
@@ -81,6 +130,13 @@ public class Bot {
                     if (event instanceof MessageReceivedEvent msgEvent) {
                         if (msgEvent.getAuthor().isBot()) return;
                         if (msgEvent.isFromGuild()) Bot.this.onServerMessageReceived(msgEvent);
+                    } else if (event instanceof MessageReactionAddEvent reactionEvent) {
+                        Bot.this.onReaction(reactionEvent, 1);
+                    } else if (event instanceof MessageReactionRemoveEvent reactionEvent) {
+                        Bot.this.onReaction(reactionEvent, -1);
+                    } else if (event instanceof ReadyEvent || event instanceof ResumedEvent
+                            || event instanceof ReconnectedEvent) {
+                        Bot.this.reconciler.reconcile(event.getJDA(), Bot.this.runningPolls.values(), Bot.this::retire);
                     }
                 })) //
                 .setStatus(OnlineStatus.ONLINE);
@@ -90,56 +146,168 @@ public class Bot {
         } catch (LoginException e) {
             throw new RuntimeException(e);
         }
+        this.recurrenceScheduler = new RecurrenceScheduler(this);
     }
 
     /**
-     * Handles all command calls by user.
+     * Handles all command calls by user. Messages that are no command call are
+     * ignored before any request is made; commands pass
+     * {@link AdmissionControl} and are answered on its worker threads.
      *
      * @param event
      *            Event containing all data needed
      */
     private void onServerMessageReceived(final MessageReceivedEvent event) {
-        if (!event.getChannel().getName().equals("schedule")) return;
+        final GuildConfig config = this.configStore.get(event.getGuild().getId());
+        if (!event.getChannel().getName().equals(config.getChannelName())) return;
 
-        var typing = event.getChannel().sendTyping().submit();
         final String message = event.getMessage().getContentRaw();
-
-        final List<String> answer = new ArrayList<>();
+        final Call call = CommandRouter.route(message);
+        if (call == null) return;
         System.out.printf("Request received by \"%s\" (%s): \"%s\"\n", //
                 event.getAuthor().getName(), //
                 event.getAuthor().getId(), //
                 message);
 
-        String[] message_elem = message.replaceFirst("[\n]", " ").split(" ", 2);
-        if (message_elem.length < 2) {
-            answer.add(switch (message_elem[0]) {
-                case "!ping" -> "pong";
-                case "!help" -> Bot.help();
-                default -> "???";
-            });
-        } else {
-            String[] elements = message_elem[1].split(";", 3);
-            answer.add(switch (message_elem[0]) {
-                case "!newpoll" -> this.newPoll(elements, event);
-                case "!delpoll" -> this.deletePoll(elements[0], event);
-                case "!endpoll" -> this.endPoll(elements[0], elements.length > 1 && elements[1].equals("keep"), event);
-                case "!poke" -> this.poke(elements, event);
-                case "!who" -> Bot.who(elements, event).stream() //
-                        .filter(u -> !u.isBot()) //
-                        .map(User::getName) //
-                        .collect(Collectors.joining(" "));
-                default -> "";
+        var admission = this.admissionControl.submit(event.getAuthor().getId(), //
+                event.getChannel().getId(), //
+                event.getGuild().getId(), //
+                Bot.dedupKey(message, call, event), //
+                () -> this.handleCommand(call, config, event));
+        switch (admission.verdict()) {
+            case ADMITTED -> admission.result().whenComplete((reply, err) -> {
+                if (err != null) err.printStackTrace();
+                Bot.reply(reply, event);
             });
+            case DUPLICATE -> Bot.reply("", event);
+            case THROTTLED -> Bot.reply(config.reply(Reply.THROTTLED), event);
+            case OVERLOADED -> Bot.reply(config.reply(Reply.OVERLOADED), event);
+            case DROPPED -> System.out.println("Request dropped: rate limit exceeded");
+        }
+    }
+
+    /**
+     * Keeps the reaction counts and voters of running polls up to date.
+     *
+     * @param event
+     *            Event of the added or removed reaction
+     * @param delta
+     *            1 if the reaction was added, -1 if it was removed
+     */
+    private void onReaction(final GenericMessageReactionEvent event, final int delta) {
+        if (!event.getReactionEmote().isEmoji()) return;
+        for (Poll poll : this.runningPolls.values()) {
+            if (!event.getMessageId().equals(poll.getMessageId())) continue;
+            int index = poll.getOptionIndex(event.getReactionEmote().getEmoji());
+            if (index < 0) return;
+            poll.addReactionCount(index, delta);
+            if (!Bot.isVoter(event.getUser())) return;
+            if (delta > 0) this.availability.add(event.getChannel().getId(), poll, index, event.getUserId());
+            else this.availability.remove(event.getChannel().getId(), poll, index, event.getUserId());
+            return;
+        }
+    }
+
+    /**
+     * Returns if reactions of given user count as votes. Reactions of bots,
+     * including this one, and of users not in the cache are ignored.
+     *
+     * @param user
+     *            User that reacted, {@code null} if not cached
+     * @return If the user is a voter
+     */
+    static boolean isVoter(final User user) {
+        return user != null && !user.isBot();
+    }
+
+    /**
+     * Ends given poll without concluding it, as its message or channel is gone.
+     *
+     * @param poll
+     *            Poll to retire
+     */
+    private void retire(final Poll poll) {
+        if (!this.runningPolls.remove(poll.getName(), poll)) return;
+        this.availability.forget(poll);
+        poll.delete();
+    }
+
+    /**
+     * Executes given command call.
+     *
+     * @param call
+     *            Command call to execute
+     * @param config
+     *            Configuration of the guild the command was issued in
+     * @param event
+     *            Event that triggered this response
+     * @return Text of an answer message
+     */
+    private String handleCommand(final Call call, final GuildConfig config, final MessageReceivedEvent event) {
+        var typing = event.getChannel().sendTyping().submit();
+        final List<String> answer = new ArrayList<>();
+        final String[] elements = call.args();
+        try {
+            if (config.isDisabled(call.command().getName()) || elements.length < call.command().getMinArguments()) {
+                answer.add(config.reply(Reply.UNKNOWN_COMMAND));
+            } else {
+                answer.add(switch (call.command()) {
+                    case PING -> config.reply(Reply.PONG);
+                    case HELP -> Bot.help(config);
+                    case NEWPOLL -> this.newPoll(elements, event);
+                    case DELPOLL -> this.deletePoll(elements[0], event);
+                    case ENDPOLL -> this.endPoll(elements[0], elements.length > 1 && elements[1].equals("keep"),
+                            event.getTextChannel());
+                    case POKE -> this.poke(elements, event.getTextChannel());
+                    case RECUR -> elements.length == 0 //
+                            ? this.recurrenceScheduler.list(event.getChannel().getId(), config)
+                            : this.recur(elements, event);
+                    case UNRECUR -> this.recurrenceScheduler.remove(elements[0], event.getGuild().getId(), config);
+                    case WHO -> Bot.who(elements, event.getTextChannel()).stream() //
+                            .filter(u -> !u.isBot()) //
+                            .map(User::getName) //
+                            .collect(Collectors.joining(" "));
+                    case COMMON -> this.common(elements, event.getTextChannel());
+                });
+            }
+            return answer.stream() //
+                    .filter(Objects::nonNull) //
+                    .filter(Predicate.not(String::isBlank)) //
+                    .collect(Collectors.joining(System.lineSeparator()));
+        } finally {
+            typing.cancel(true);
         }
-        final String reply = answer.stream() //
-                .filter(Objects::nonNull) //
-                .filter(Predicate.not(String::isBlank)) //
-                .collect(Collectors.joining(System.lineSeparator()));
+    }
 
+    /**
+     * Removes the command message and posts given answer.
+     *
+     * @param reply
+     *            Text of the answer; nothing is posted if empty
+     * @param event
+     *            Event that triggered this response
+     */
+    private static void reply(final String reply, final MessageReceivedEvent event) {
         // Fail-safe
         if (!event.getAuthor().isBot()) event.getMessage().delete().queue();
-        if (!reply.isEmpty()) event.getChannel().sendMessage(reply).queue();
-        typing.cancel(true);
+        if (reply != null && !reply.isEmpty()) event.getChannel().sendMessage(reply).queue();
+    }
+
+    /**
+     * Returns the key under which identical read-only commands share their
+     * result.
+     *
+     * @param message
+     *            Raw content of the command message
+     * @param call
+     *            Command call of the message
+     * @param event
+     *            Event that triggered this response
+     * @return Deduplication key or {@code null} if the command must always run
+     */
+    private static String dedupKey(final String message, final Call call, final MessageReceivedEvent event) {
+        if (call.command() != Command.POKE && call.command() != Command.WHO) return null;
+        return event.getChannel().getId() + ":" + message.strip();
     }
 
     /**
@@ -161,17 +329,20 @@ public class Bot {
     /**
      * Return help message with all available commands.
      *
+     * @param config
+     *            Configuration of the guild asking for help
      * @return Message contend for help command
      */
-    private static String help() {
+    private static String help(GuildConfig config) {
         return """
                 Hi :wave:,
                 I am DSA, the **D**iscord **S**chedule **A**utomatum.
 
                 My commands are:
                 """ +  //
-                commands.stream() //
-                        .map("**%s** %s\n\t*\\~ %s*"::formatted) //
+                Arrays.stream(Command.values()) //
+                        .filter(command -> !config.isDisabled(command.getName())) //
+                        .map(Command::toHelp) //
                         .collect(Collectors.joining("\n"));
     }
 
@@ -183,21 +354,63 @@ public class Bot {
      *            <br>
      *            [0]: poll name<br>
      *            [1]: poll question<br>
-     *            [2]: poll options
+     *            [2+]: poll options
      * @param event
      *            Event that triggered this response
      * @return An empty string
      */
     private String newPoll(String[] elements, MessageReceivedEvent event) {
-        if (this.runningPolls.containsKey(elements[0])) return "Poll already exists";
+        GuildConfig config = this.config(event.getTextChannel());
+        if (this.runningPolls.containsKey(elements[0])) return config.reply(Reply.POLL_EXISTS);
 
         boolean next = elements[0].equals("next");
+        String[] options = Bot.pollOptions(elements);
+        if (!next && options.length == 0) return config.reply(Reply.UNKNOWN_COMMAND);
         Poll poll = new Poll(elements[0], //
-                next ? "Wann habt ihr Zeit für die nächste Session?" : elements[1], //
-                next ? DateHelper.nextWeekEnds() : elements[2].split(";"));
-        this.runningPolls.put(poll.getName(), poll);
-        Message message = event.getChannel().sendMessage("@everyone\n" + poll.toString()).complete();
+                next ? config.reply(Reply.NEXT_QUESTION) : elements[1], //
+                next ? DateHelper.nextWeekEnds() : options);
+        return this.openPoll(poll, event.getTextChannel());
+    }
+
+    /**
+     * Returns the options of a !newpoll call. Blank options at the end, e.g.
+     * from a trailing separator, are dropped.
+     * 
+     * @param elements
+     *            Arguments of the call
+     * @return Options of the poll
+     */
+    static String[] pollOptions(String[] elements) {
+        int end = elements.length;
+        while (end > 2 && elements[end - 1].isBlank()) end--;
+        return end > 2 ? Arrays.copyOfRange(elements, 2, end) : new String[0];
+    }
+
+    /**
+     * Posts given poll to given channel and registers it as running. If posting
+     * fails, the poll is not registered.
+     * 
+     * @param poll
+     *            Poll to open
+     * @param channel
+     *            Channel to post the poll in
+     * @return An empty string
+     */
+    String openPoll(Poll poll, TextChannel channel) {
+        if (this.runningPolls.putIfAbsent(poll.getName(), poll) != null) {
+            return this.config(channel).reply(Reply.POLL_EXISTS);
+        }
+        this.availability.track(poll);
+        Message message;
+        try {
+            message = channel.sendMessage("@everyone\n" + poll.toString()).complete();
+        } catch (RuntimeException e) {
+            this.runningPolls.remove(poll.getName(), poll);
+            this.availability.forget(poll);
+            throw e;
+        }
         poll.setMessageId(message.getId());
+        poll.setChannelId(channel.getId());
         Stream.generate(Poll.getReactions()) //
                 .limit(Math.min(10, poll.getOptionCount())) //
                 .map(message::addReaction) //
@@ -217,34 +430,98 @@ public class Bot {
      * @return If poll got deleted
      */
     private String deletePoll(String pollName, MessageReceivedEvent event) {
-        if (!this.runningPolls.containsKey(pollName)) return "Poll does not exist";
+        GuildConfig config = this.config(event.getTextChannel());
         Poll poll = this.runningPolls.remove(pollName);
+        if (poll == null) return config.reply(Reply.POLL_MISSING);
         event.getChannel().retrieveMessageById(poll.getMessageId()).complete().delete().queue();
+        this.availability.forget(poll);
         poll.delete();
-        return "Poll deleted";
+        return config.reply(Reply.POLL_DELETED);
     }
 
     /**
      * !endpoll command<br>
-     * Concludes given poll and generates an .ics file.
+     * Concludes given poll and generates an .ics file. Only the call that
+     * removes the poll from the running polls announces the result, so
+     * concurrent calls conclude it once.
      * 
      * @param poll
      *            Name of the poll to conclude
      * @param keep
-     * @param event
-     *            Event that triggered this response
+     * @param channel
+     *            Channel the poll was posted in
      * @return An empty string
      */
-    private String endPoll(String pollName, boolean keep, MessageReceivedEvent event) {
-        if (!this.runningPolls.containsKey(pollName)) return "Poll does not exist";
+    String endPoll(String pollName, boolean keep, TextChannel channel) {
+        GuildConfig config = this.config(channel);
+        Poll poll = this.runningPolls.get(pollName);
+        String messageId = poll == null ? null : poll.getMessageId();
+        if (messageId == null) return config.reply(Reply.POLL_MISSING);
         List<String> answer = new ArrayList<>();
-        String pokeReturn = this.poke(new String[] { pollName }, event);
+        String pokeReturn = this.poke(new String[] { pollName }, channel);
         if (pokeReturn.contains(System.lineSeparator())) return pokeReturn;
         answer.add(pokeReturn);
-        int count = event.getTextChannel().getMembers().size();
+        Message message = channel.retrieveMessageById(messageId).complete();
+        TemporalAccessor date = Bot.findDate(poll, message, channel.getMembers().size());
+        if (Objects.nonNull(date)) {
+            String concluded = this.conclude(poll, message, date, keep, channel);
+            // Concluded in the meantime by another call or the scheduler
+            if (concluded == null) return "";
+            answer.add(concluded);
+        } else {
+            answer.add(config.reply(Reply.DATE_NOT_FOUND));
+        }
+        return String.join(System.lineSeparator(), answer);
+    }
+
+    /**
+     * Closes given poll for good: concludes it if a date was found, otherwise
+     * removes it and moves it to the finished polls. Used when a recurring
+     * poll ends, where waiting for missing votes is no option. A poll of the
+     * same name in another channel is left untouched.
+     * 
+     * @param pollName
+     *            Name of the poll to close
+     * @param channel
+     *            Channel the poll was posted in
+     * @return Text of an answer message
+     */
+    String closePoll(String pollName, TextChannel channel) {
+        GuildConfig config = this.config(channel);
         Poll poll = this.runningPolls.get(pollName);
-        Message message = event.getChannel().retrieveMessageById(poll.getMessageId()).complete();
-        TemporalAccessor date = message.getReactions() //
+        String messageId = poll == null ? null : poll.getMessageId();
+        if (messageId == null || !channel.getId().equals(poll.getChannelId())) return "";
+        Message message = null;
+        try {
+            message = channel.retrieveMessageById(messageId).complete();
+        } catch (ErrorResponseException e) {
+            if (e.getErrorResponse() != ErrorResponse.UNKNOWN_MESSAGE) throw e;
+        }
+        TemporalAccessor date = message == null ? null : Bot.findDate(poll, message, channel.getMembers().size());
+        if (Objects.nonNull(date)) {
+            return Objects.requireNonNullElse(this.conclude(poll, message, date, false, channel), "");
+        }
+
+        if (!this.runningPolls.remove(pollName, poll)) return "";
+        if (message != null) message.delete().queue();
+        this.availability.forget(poll);
+        poll.delete();
+        return config.reply(Reply.DATE_NOT_FOUND);
+    }
+
+    /**
+     * Returns the first option all channel members reacted to.
+     * 
+     * @param poll
+     *            Poll to evaluate
+     * @param message
+     *            Message of the poll
+     * @param count
+     *            Amount of channel members
+     * @return Date of the option or {@code null} if there is none
+     */
+    private static TemporalAccessor findDate(Poll poll, Message message, int count) {
+        return message.getReactions() //
                 .stream() //
                 .filter(reaction -> count == reaction.getCount()) //
                 .peek(r -> System.out.println(r.getReactionEmote().getAsReactionCode() + " " + r.getCount())) //
@@ -252,18 +529,34 @@ public class Bot {
                 .sorted().map(index -> poll.getOption(index)) //
                 .map(DateFormat.DATE_DE::parse).findFirst() //
                 .orElse(null);
-        if (Objects.nonNull(date)) {
-            event.getChannel()
-                    .sendFile(ICalConstructor.getICal(date, poll.getUuid()), DateFormat.DATE_DE_FILE.format(date) + ".ics")
-                    .queue();
-            if (!keep) message.delete().queue();
-            this.runningPolls.remove(pollName);
-            poll.delete();
-            answer.add("@everyone Nächster Termin steht fest: " + DateFormat.DATE_DE.format(date));
-        } else {
-            answer.add("```diff\n- Kein Termin konnte gefunden werden```");
-        }
-        return String.join(System.lineSeparator(), answer);
+    }
+
+    /**
+     * Announces given date of given poll and posts the .ics file, unless the
+     * poll is no longer running.
+     * 
+     * @param poll
+     *            Poll to conclude
+     * @param message
+     *            Message of the poll
+     * @param date
+     *            Date found
+     * @param keep
+     *            If the message of the poll is kept
+     * @param channel
+     *            Channel the poll was posted in
+     * @return Text of an answer message or {@code null} if the poll was
+     *         concluded already
+     */
+    private String conclude(Poll poll, Message message, TemporalAccessor date, boolean keep, TextChannel channel) {
+        if (!this.runningPolls.remove(poll.getName(), poll)) return null;
+        GuildConfig config = this.config(channel);
+        var iCal = ICalConstructor.getICal(config.getICalTemplate(), config.getInviteData(), date, poll.getUuid());
+        channel.sendFile(iCal, DateFormat.DATE_DE_FILE.format(date) + ".ics").queue();
+        if (!keep) message.delete().queue();
+        this.availability.forget(poll);
+        poll.delete();
+        return config.reply(Reply.DATE_FOUND, DateFormat.DATE_DE.format(date));
     }
 
     /**
@@ -275,12 +568,12 @@ public class Bot {
      *            <br>
      *            [0]: message id<br>
      *            [1]: (opt.) filter emote
-     * @param event
-     *            Event that triggered this response
+     * @param channel
+     *            Channel the message was posted in
      * @return List of all users that reacted to given message
      */
-    private static List<User> who(String[] elements, MessageReceivedEvent event) {
-        return event.getChannel() //
+    private static List<User> who(String[] elements, TextChannel channel) {
+        return channel //
                 .retrieveMessageById(elements[0]) //
                 .complete() //
                 .getReactions() //
@@ -300,17 +593,18 @@ public class Bot {
      *            <br>
      *            [0]: poll name<br>
      *            [1]: (opt.) filter emote
-     * @param event
-     *            Event that triggered this response
+     * @param channel
+     *            Channel the poll was posted in
      * @return Text of an answer message
      */
-    private String poke(String[] elements, MessageReceivedEvent event) {
-        if (!this.runningPolls.containsKey(elements[0])) return "Poll does not exist";
+    private String poke(String[] elements, TextChannel channel) {
+        GuildConfig config = this.config(channel);
+        if (!this.runningPolls.containsKey(elements[0])) return config.reply(Reply.POLL_MISSING);
         List<String> answer = new ArrayList<>();
-        answer.add("Es müssen die Umfrage noch ausfüllen:");
+        answer.add(config.reply(Reply.VOTES_MISSING));
         elements[0] = this.runningPolls.get(elements[0]).getMessageId();
-        List<User> filter = who(elements, event);
-        event.getTextChannel() //
+        List<User> filter = who(elements, channel);
+        channel //
                 .getMembers() //
                 .stream() //
                 .map(Member::getUser) //
@@ -319,14 +613,118 @@ public class Bot {
                 .map(User::getAsMention) //
                 .forEach(answer::add);
         return answer.size() == 1 //
-                ? "Abstimmung abgeschlossen!" //
+                ? config.reply(Reply.VOTES_COMPLETE) //
                 : String.join(System.lineSeparator(), answer);
     }
 
+    /**
+     * !common command<br>
+     * Lists the options all participants of given polls voted for, or the
+     * best ones if there are none. Answered from the votes seen by the bot,
+     * without requests to Discord.
+     * 
+     * @param elements
+     *            <br>
+     *            [0+]: poll names
+     * @param channel
+     *            Channel the polls were posted in
+     * @return Text of an answer message
+     */
+    private String common(String[] elements, TextChannel channel) {
+        GuildConfig config = this.config(channel);
+        List<Poll> polls = new ArrayList<>();
+        for (String pollName : elements) {
+            Poll poll = this.runningPolls.get(pollName.strip());
+            if (poll == null || !channel.getId().equals(poll.getChannelId())) return config.reply(Reply.POLL_MISSING);
+            polls.add(poll);
+        }
+        List<Availability> options = this.availability.query(polls);
+        String common = options.stream() //
+                .filter(Availability::isCommon) //
+                .map(Availability::option) //
+                .collect(Collectors.joining(", "));
+        if (!common.isEmpty()) return config.reply(Reply.COMMON_FOUND, common);
+
+        int best = options.stream().mapToInt(Availability::available).max().orElse(0);
+        if (best == 0) return config.reply(Reply.COMMON_NONE);
+        return config.reply(Reply.COMMON_BEST, options.stream() //
+                .filter(option -> option.available() == best) //
+                .map(option -> "%s (%d/%d)".formatted(option.option(), option.available(), option.participants())) //
+                .collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * !recur command<br>
+     * Registers a poll that is opened and closed weekly in this channel.
+     * 
+     * @param elements
+     *            <br>
+     *            [0]: poll name<br>
+     *            [1]: day and time of opening<br>
+     *            [2]: day and time of closing<br>
+     *            [3]: (opt.) poll question
+     * @param event
+     *            Event that triggered this response
+     * @return Text of an answer message
+     */
+    private String recur(String[] elements, MessageReceivedEvent event) {
+        GuildConfig config = this.config(event.getTextChannel());
+        if (elements.length < 3) return config.reply(Reply.RECURRENCE_INVALID);
+        try {
+            String[] open = elements[1].strip().split(" +");
+            String[] close = elements[2].strip().split(" +");
+            return this.recurrenceScheduler.add(new Recurrence(elements[0], //
+                    elements.length > 3 ? elements[3] : config.reply(Reply.NEXT_QUESTION), //
+                    event.getGuild().getId(), //
+                    event.getChannel().getId(), //
+                    DayOfWeek.valueOf(open[0].toUpperCase()), LocalTime.parse(open[1]), //
+                    DayOfWeek.valueOf(close[0].toUpperCase()), LocalTime.parse(close[1])), config);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            return config.reply(Reply.RECURRENCE_INVALID);
+        }
+    }
+
+    /**
+     * Returns if a poll with given name is running.
+     * 
+     * @param pollName
+     *            Name of the poll
+     * @return If the poll is running
+     */
+    boolean isRunning(String pollName) {
+        return this.runningPolls.containsKey(pollName);
+    }
+
+    /**
+     * Returns the configuration of the guild of given channel.
+     * 
+     * @param channel
+     *            Channel of the guild
+     * @return Configuration of the guild
+     */
+    GuildConfig config(TextChannel channel) {
+        return this.configStore.get(channel.getGuild().getId());
+    }
+
+    /**
+     * Returns the text channel with given id.
+     * 
+     * @param id
+     *            ID of the channel
+     * @return Text channel or {@code null} if it is not available
+     */
+    TextChannel getTextChannel(String id) {
+        return this.jda.getTextChannelById(id);
+    }
+
     /**
      * Shuts down the bot.
      */
     public void shutdown() {
+        this.recurrenceScheduler.shutdown();
+        this.reconciler.shutdown();
+        this.configStore.shutdown();
+        this.admissionControl.shutdown();
         this.jda.shutdown();
     }
 }
@@ -0,0 +1,62 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.bot;
+
+/**
+ * All currently available commands with their parameters and description.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+enum Command {
+    NEWPOLL("!newpoll", 1, "{name};{question};{options}+", "Creates a new poll"),
+    ENDPOLL("!endpoll", 1, "{name}<;keep>", "Evaluates <and deletes> given poll"),
+    DELPOLL("!delpoll", 1, "{name}", "Deletes a existing poll"),
+    RECUR("!recur", 0, "<{name};{day} {HH:mm};{day} {HH:mm}<;{question}>>",
+            "Opens and closes poll weekly <or lists recurring polls>"),
+    UNRECUR("!unrecur", 1, "{name}", "Stops recurring poll"),
+    POKE("!poke", 1, "{name}<;{emote}>", "Mentions all, that hadn't reacted to the poll <with emote>"),
+    WHO("!who", 1, "{id}<;{emote}>", "Lists all, that reacted to the message <with emote>"),
+    COMMON("!common", 1, "{name}<;{name}>+", "Lists dates all participants of given polls have time"),
+    HELP("!help", 0, "", "This :eyes:"),
+    PING("!ping", 0, "", "Tests if bot is up and running"), //
+    ;
+
+    private final String name;
+    private final int minArguments;
+    private final String parameters;
+    private final String description;
+
+    private Command(String name, int minArguments, String parameters, String description) {
+        this.name = name;
+        this.minArguments = minArguments;
+        this.parameters = parameters;
+        this.description = description;
+    }
+
+    /**
+     * Returns the name of this command as typed by users.
+     *
+     * @return Name including prefix
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the amount of arguments this command needs at least.
+     *
+     * @return Minimal amount of arguments
+     */
+    public int getMinArguments() {
+        return this.minArguments;
+    }
+
+    /**
+     * Returns the help entry of this command.
+     *
+     * @return Name, parameters and description
+     */
+    public String toHelp() {
+        return "**%s** %s\n\t*\\~ %s*".formatted(this.name, this.parameters, this.description);
+    }
+}
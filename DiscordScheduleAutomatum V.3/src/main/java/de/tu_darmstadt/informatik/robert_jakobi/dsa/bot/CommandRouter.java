@@ -0,0 +1,132 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.bot;
+
+import java.util.Arrays;
+
+/**
+ * Recognises command calls in raw message content. Commands are looked up in
+ * a table indexed by the first character after the prefix, and arguments are
+ * read in a single pass without regular expressions.<br>
+ * Arguments are separated by {@code ;}. Within double quotes {@code ;} is
+ * taken literally; {@code \;}, {@code \"} and {@code \\} escape the respective
+ * character anywhere. A double quote without closing counterpart is taken
+ * literally as well.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 2
+ */
+final class CommandRouter {
+    /**
+     * A recognised command call.
+     *
+     * @param command
+     *            Called command
+     * @param args
+     *            Arguments of the call
+     */
+    record Call(Command command, String[] args) {}
+
+    private static final char PREFIX = '!';
+    private static final char SEPARATOR = ';';
+    private static final char QUOTE = '"';
+    private static final char ESCAPE = '\\';
+
+    private static final String[] NO_ARGUMENTS = new String[0];
+
+    /**
+     * Commands by the first character of their name after the prefix
+     */
+    private static final Command[][] TABLE = new Command[128][];
+
+    static {
+        for (Command command : Command.values()) {
+            char first = command.getName().charAt(1);
+            Command[] candidates = TABLE[first] == null ? new Command[1]
+                    : Arrays.copyOf(TABLE[first], TABLE[first].length + 1);
+            candidates[candidates.length - 1] = command;
+            TABLE[first] = candidates;
+        }
+    }
+
+    /**
+     * Unused constructor
+     */
+    private CommandRouter() {}
+
+    /**
+     * Recognises the command call in given message content.
+     *
+     * @param content
+     *            Raw content of a message
+     * @return Command call or {@code null} if the content is no command call
+     */
+    static Call route(String content) {
+        int length = content.length();
+        if (length < 2 || content.charAt(0) != PREFIX) return null;
+        char first = content.charAt(1);
+        if (first >= TABLE.length || TABLE[first] == null) return null;
+        for (Command command : TABLE[first]) {
+            String name = command.getName();
+            int end = name.length();
+            if (!content.startsWith(name)) continue;
+            if (end == length) return new Call(command, NO_ARGUMENTS);
+            char next = content.charAt(end);
+            if (next == ' ' || next == '\n') return new Call(command, tokenize(content, end + 1));
+        }
+        return null;
+    }
+
+    /**
+     * Splits the arguments starting at given index.
+     */
+    private static String[] tokenize(String content, int from) {
+        return tokenize(content, from, -1);
+    }
+
+    /**
+     * Splits the arguments starting at given index, taking the quote at given
+     * index literally. Only the last opening quote can be left unclosed, so a
+     * second pass without it always succeeds.
+     */
+    private static String[] tokenize(String content, int from, int literalQuote) {
+        int length = content.length();
+        if (from >= length) return NO_ARGUMENTS;
+
+        String[] args = new String[4];
+        int count = 0;
+        int start = from;
+        boolean quoted = false;
+        int openQuote = -1;
+        // Only needed once an argument contains quotes or escapes
+        StringBuilder buffer = null;
+        for (int i = from; i < length; i++) {
+            char c = content.charAt(i);
+            if (c == ESCAPE && i + 1 < length && isEscapable(content.charAt(i + 1))) {
+                buffer = append(buffer, content, start, i).append(content.charAt(++i));
+                start = i + 1;
+            } else if (c == QUOTE && i != literalQuote) {
+                buffer = append(buffer, content, start, i);
+                quoted = !quoted;
+                openQuote = i;
+                start = i + 1;
+            } else if (c == SEPARATOR && !quoted) {
+                if (count == args.length) args = Arrays.copyOf(args, count * 2);
+                args[count++] = buffer == null ? content.substring(start, i) : append(buffer, content, start, i).toString();
+                buffer = null;
+                start = i + 1;
+            }
+        }
+        if (quoted) return tokenize(content, from, openQuote);
+        if (count == args.length) args = Arrays.copyOf(args, count + 1);
+        args[count++] = buffer == null ? content.substring(start) : append(buffer, content, start, length).toString();
+        return count == args.length ? args : Arrays.copyOf(args, count);
+    }
+
+    private static StringBuilder append(StringBuilder buffer, String content, int start, int end) {
+        return (buffer == null ? new StringBuilder(content.length() - start) : buffer).append(content, start, end);
+    }
+
+    private static boolean isEscapable(char c) {
+        return c == SEPARATOR || c == QUOTE || c == ESCAPE;
+    }
+}
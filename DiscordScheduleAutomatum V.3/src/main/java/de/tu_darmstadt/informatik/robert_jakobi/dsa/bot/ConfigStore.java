@@ -0,0 +1,259 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.bot;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.GuildConfig;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.Reply;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.FileManager;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.ICalConstructor;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.SystemProperties;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.Template;
+
+/**
+ * Per-guild configuration read from {@code rec/config}. {@code default.properties}
+ * applies to all guilds, {@code <guild id>.properties} overrides it for a single
+ * guild. Files referenced by a configuration are resolved against the same
+ * directory.<br>
+ * Changes are picked up by a file watcher; every reload compiles a complete
+ * new snapshot and swaps it in at once, so readers never lock or touch files.
+ * Every file is compiled on its own: a guild whose file can not be loaded keeps
+ * its previous configuration, or gets the defaults if it has none.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 2
+ */
+class ConfigStore {
+    private static final String DEFAULT_NAME = "default";
+    private static final String SUFFIX = ".properties";
+
+    private static final String CHANNEL_KEY = "channel";
+    private static final String DISABLED_KEY = "disabled";
+    private static final String ICAL_TEMPLATE_KEY = "ical.template";
+    private static final String ICAL_DATA_KEY = "ical.data";
+
+    /**
+     * Time to wait for further changes before reloading, in milliseconds
+     */
+    private static final long DEBOUNCE = 200;
+
+    /**
+     * Compiled configuration of all guilds.
+     *
+     * @param defaultProperties
+     *            Properties guild files are layered on
+     * @param defaults
+     *            Configuration of guilds without own file
+     * @param guilds
+     *            Configuration by guild id
+     */
+    private record Snapshot(Properties defaultProperties, GuildConfig defaults, Map<String, GuildConfig> guilds) {}
+
+    private final Path directory = FileManager.getPath(SystemProperties.configPath);
+
+    private volatile Snapshot snapshot;
+
+    private WatchService watcher;
+
+    /**
+     * Constructor of {@link ConfigStore}. Loads the configuration and starts
+     * watching for changes.
+     *
+     * @throws IOException
+     *             Thrown if the initial configuration could not be loaded
+     */
+    ConfigStore() throws IOException {
+        this.snapshot = this.load(null);
+        try {
+            this.watcher = FileSystems.getDefault().newWatchService();
+            this.directory.register(this.watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            FileManager.getPath().register(this.watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            System.out.println("Configuration will not be reloaded on changes");
+            e.printStackTrace();
+            return;
+        }
+        Thread thread = new Thread(this::watch, "dsa-config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the configuration of given guild.
+     *
+     * @param guildId
+     *            ID of the guild
+     * @return Configuration of the guild
+     */
+    GuildConfig get(String guildId) {
+        Snapshot current = this.snapshot;
+        return current.guilds().getOrDefault(guildId, current.defaults());
+    }
+
+    /**
+     * Stops watching for changes.
+     */
+    void shutdown() {
+        try {
+            if (this.watcher != null) this.watcher.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reloads the configuration. If the configuration directory can not be
+     * read at all, the current snapshot stays in place.
+     */
+    void reload() {
+        try {
+            this.snapshot = this.load(this.snapshot);
+            System.out.println("Configuration reloaded");
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Configuration could not be reloaded");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reloads the configuration on every relevant change until the watcher is
+     * closed.
+     */
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = this.watcher.take();
+                boolean relevant = this.isRelevant(key);
+                Thread.sleep(DEBOUNCE);
+                for (WatchKey more = this.watcher.poll(); more != null; more = this.watcher.poll()) {
+                    relevant |= this.isRelevant(more);
+                }
+                if (relevant) this.reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            return;
+        }
+    }
+
+    /**
+     * Consumes the events of given key and returns if any of them concerns a
+     * configuration file or one of the default .ics files.
+     */
+    private boolean isRelevant(WatchKey key) {
+        boolean inDirectory = key.watchable().equals(this.directory);
+        boolean relevant = key.pollEvents() //
+                .stream() //
+                .map(event -> event.context().toString()) //
+                .anyMatch(name -> inDirectory || name.equals(FileManager.ICAL_FORMAT_FILE)
+                        || name.equals(FileManager.ICAL_DATA_FILE));
+        key.reset();
+        return relevant;
+    }
+
+    /**
+     * Reads and compiles the configuration of all guilds. Files that fail to
+     * load are replaced by their counterpart of given previous snapshot.
+     */
+    private Snapshot load(Snapshot previous) throws IOException {
+        Map<Path, String> files = new HashMap<>();
+        Properties builtIn = new Properties();
+        builtIn.setProperty(CHANNEL_KEY, "schedule");
+        builtIn.setProperty(DISABLED_KEY, "");
+        builtIn.setProperty(ICAL_TEMPLATE_KEY,
+                FileManager.getPath(FileManager.ICAL_FORMAT_FILE).toAbsolutePath().toString());
+        builtIn.setProperty(ICAL_DATA_KEY, FileManager.getPath(FileManager.ICAL_DATA_FILE).toAbsolutePath().toString());
+        for (Reply reply : Reply.values()) builtIn.setProperty(reply.getKey(), reply.getDefaultText());
+
+        Path defaultFile = this.directory.resolve(DEFAULT_NAME + SUFFIX);
+        Properties defaults = builtIn;
+        GuildConfig defaultConfig;
+        try {
+            if (Files.exists(defaultFile)) defaults = this.read(defaultFile, builtIn);
+            defaultConfig = this.compile(defaults, files);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Configuration " + defaultFile.getFileName() + " could not be loaded");
+            e.printStackTrace();
+            defaults = previous != null ? previous.defaultProperties() : builtIn;
+            defaultConfig = previous != null ? previous.defaults() : this.compile(builtIn, files);
+        }
+
+        Map<String, GuildConfig> guilds = new HashMap<>();
+        try (var list = Files.list(this.directory)) {
+            for (Path file : list.toList()) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(SUFFIX) || file.equals(defaultFile)) continue;
+                String guildId = name.substring(0, name.length() - SUFFIX.length());
+                try {
+                    guilds.put(guildId, this.compile(this.read(file, defaults), files));
+                } catch (IOException | RuntimeException e) {
+                    GuildConfig kept = previous == null ? null : previous.guilds().get(guildId);
+                    System.out.printf("Configuration %s could not be loaded, %s%n", //
+                            name, //
+                            kept == null ? "using defaults" : "keeping previous one");
+                    e.printStackTrace();
+                    if (kept != null) guilds.put(guildId, kept);
+                }
+            }
+        }
+        return new Snapshot(defaults, defaultConfig, Map.copyOf(guilds));
+    }
+
+    private Properties read(Path file, Properties defaults) throws IOException {
+        Properties properties = new Properties(defaults);
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    /**
+     * Compiles given properties. Referenced files are read only once per
+     * reload.
+     */
+    private GuildConfig compile(Properties properties, Map<Path, String> files) throws IOException {
+        Map<Reply, Template> replies = new EnumMap<>(Reply.class);
+        for (Reply reply : Reply.values()) {
+            replies.put(reply, Template.compile(properties.getProperty(reply.getKey()), reply.getArguments()));
+        }
+        Set<String> disabled = Arrays.stream(properties.getProperty(DISABLED_KEY).split(",")) //
+                .map(String::strip) //
+                .filter(command -> !command.isEmpty()) //
+                .collect(Collectors.toSet());
+        return new GuildConfig(properties.getProperty(CHANNEL_KEY).strip(), //
+                disabled, //
+                replies, //
+                Template.compile(this.readFile(properties.getProperty(ICAL_TEMPLATE_KEY), files),
+                        ICalConstructor.TEMPLATE_ARGUMENTS), //
+                List.of(this.readFile(properties.getProperty(ICAL_DATA_KEY), files).lines().toArray(String[]::new)));
+    }
+
+    private String readFile(String name, Map<Path, String> files) throws IOException {
+        Path path = this.directory.resolve(name).normalize();
+        String content = files.get(path);
+        if (content == null) {
+            content = Files.readString(path, StandardCharsets.UTF_8).lines()
+                    .collect(Collectors.joining(System.lineSeparator()));
+            files.put(path, content);
+        }
+        return content;
+    }
+}
@@ -0,0 +1,275 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.bot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.AvailabilityIndex;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.Poll;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageReaction;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+
+/**
+ * Brings active polls in line with Discord after (re)connecting. Every poll
+ * message is fetched and compared to the locally known state: missed
+ * reactions are taken over, missing bot reactions are added again and polls
+ * whose stored channel or message is confirmed gone are retired. Polls stored
+ * without a channel are looked for in the command channels but never retired
+ * on a miss. Channel membership needs no reconciliation, as it is not stored
+ * but read from the member cache, which is rebuilt on connecting.<br>
+ * The voters of every option are loaded into the {@link AvailabilityIndex}
+ * once per poll, which is kept up to date by reaction events afterwards; later
+ * runs only reload options whose reaction count changed in between.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 3
+ */
+class Reconciler {
+    /**
+     * Outcome of reconciling a single poll.
+     */
+    private enum Outcome {
+        UNCHANGED, UPDATED, REPAIRED, RETIRED, FAILED
+    }
+
+    /**
+     * Outcome of reconciling a poll of given guild.
+     */
+    private record Result(String guildId, Outcome outcome) {}
+
+    /**
+     * Statistics of a single guild.
+     */
+    private static class GuildStats {
+        private final Map<Outcome, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        private final AtomicLong finished = new AtomicLong();
+
+        void add(Outcome outcome) {
+            this.outcomes.computeIfAbsent(outcome, k -> new AtomicInteger()).incrementAndGet();
+            this.finished.accumulateAndGet(System.nanoTime(), Math::max);
+        }
+    }
+
+    private static final String UNKNOWN_GUILD = "unknown";
+
+    /**
+     * Maximum amount of polls reconciled at the same time
+     */
+    private static final int PARALLELISM = 4;
+
+    private final Bot bot;
+
+    private final AvailabilityIndex availability;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+        Thread thread = new Thread(runnable, "dsa-reconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Set if a reconciliation was requested since the current one started
+     */
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    /**
+     * Polls whose voters were loaded into the index
+     */
+    private final Set<UUID> seeded = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor of {@link Reconciler}.
+     *
+     * @param bot
+     *            Bot owning the polls
+     * @param availability
+     *            Index of the voters of the polls
+     */
+    Reconciler(Bot bot, AvailabilityIndex availability) {
+        this.bot = bot;
+        this.availability = availability;
+    }
+
+    /**
+     * Reconciles given polls in the background. If a reconciliation is already
+     * running, one more is started once it finished, covering all requests
+     * made in the meantime.
+     *
+     * @param jda
+     *            Connected API interface
+     * @param polls
+     *            Active polls
+     * @param retire
+     *            Called for every poll to retire
+     */
+    void reconcile(JDA jda, Collection<Poll> polls, Consumer<Poll> retire) {
+        // Set before trying to start, so a run finishing concurrently sees it
+        this.pending.set(true);
+        if (!this.running.compareAndSet(false, true)) {
+            System.out.println("Reconciliation already running, queued another one");
+            return;
+        }
+        this.pending.set(false);
+        long start = System.nanoTime();
+        Map<String, GuildStats> stats = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (Poll poll : List.copyOf(polls)) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                Result result;
+                try {
+                    result = this.reconcile(jda, poll, retire);
+                } catch (RuntimeException e) {
+                    System.out.println("Could not reconcile poll " + poll.getName());
+                    e.printStackTrace();
+                    result = new Result(UNKNOWN_GUILD, Outcome.FAILED);
+                }
+                stats.computeIfAbsent(result.guildId(), k -> new GuildStats()).add(result.outcome());
+            }, this.executor));
+        }
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).whenComplete((v, err) -> {
+            stats.forEach((guild, guildStats) -> System.out.printf("Reconciled guild %s in %d ms: %s%n", //
+                    guild, //
+                    (guildStats.finished.get() - start) / 1_000_000, //
+                    guildStats.outcomes.entrySet()
+                            .stream()
+                            .map(e -> e.getKey().name().toLowerCase() + "=" + e.getValue())
+                            .collect(Collectors.joining(", "))));
+            System.out.printf("Reconciled %d poll(s) in %d ms%n", //
+                    tasks.size(), //
+                    (System.nanoTime() - start) / 1_000_000);
+            this.running.set(false);
+            if (this.pending.get()) this.reconcile(jda, polls, retire);
+        });
+    }
+
+    /**
+     * Stops all reconciliation.
+     */
+    void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Reconciles a single poll. Blocks while fetching its message.
+     */
+    private Result reconcile(JDA jda, Poll poll, Consumer<Poll> retire) {
+        if (poll.getMessageId() == null) return new Result(UNKNOWN_GUILD, Outcome.UNCHANGED);
+
+        List<TextChannel> candidates = this.candidateChannels(jda, poll);
+        // The channel may belong to a guild not loaded yet
+        if (candidates.isEmpty() && !jda.getUnavailableGuilds().isEmpty()) {
+            return new Result(UNKNOWN_GUILD, Outcome.FAILED);
+        }
+
+        Message message = null;
+        boolean lookupFailed = false;
+        for (TextChannel channel : candidates) {
+            try {
+                message = channel.retrieveMessageById(poll.getMessageId()).complete();
+                break;
+            } catch (ErrorResponseException e) {
+                if (e.getErrorResponse() != ErrorResponse.UNKNOWN_MESSAGE) lookupFailed = true;
+            }
+        }
+        if (message == null) {
+            String guildId = candidates.size() == 1 ? candidates.get(0).getGuild().getId() : UNKNOWN_GUILD;
+            if (lookupFailed) return new Result(guildId, Outcome.FAILED);
+            // Searching the command channels is a guess; a miss proves nothing
+            if (poll.getChannelId() == null) {
+                System.out.println("Message of poll " + poll.getName() + " not found, keeping it");
+                return new Result(guildId, Outcome.FAILED);
+            }
+            System.out.println("Retiring orphaned poll " + poll.getName());
+            retire.accept(poll);
+            return new Result(guildId, Outcome.RETIRED);
+        }
+
+        boolean changed = !message.getChannel().getId().equals(poll.getChannelId());
+        poll.setChannelId(message.getChannel().getId());
+        int[] counts = new int[poll.getOptionCount()];
+        boolean[] self = new boolean[poll.getOptionCount()];
+        MessageReaction[] byOption = new MessageReaction[poll.getOptionCount()];
+        for (MessageReaction reaction : message.getReactions()) {
+            if (!reaction.getReactionEmote().isEmoji()) continue;
+            int index = poll.getOptionIndex(reaction.getReactionEmote().getEmoji());
+            if (index < 0) continue;
+            counts[index] = reaction.getCount();
+            self[index] = reaction.isSelf();
+            byOption[index] = reaction;
+        }
+        boolean seeded = this.seeded.contains(poll.getUuid());
+        for (int i = 0; i < counts.length; i++) {
+            int known = poll.getReactionCount(i);
+            // Options past the tenth have no reaction to vote with
+            if (i < 10 && (!seeded || known != counts[i])) this.seed(message, poll, i, byOption[i]);
+            if (known == counts[i]) continue;
+            System.out.printf("Poll %s option %d: %d -> %d reactions%n", poll.getName(), i, known, counts[i]);
+            poll.setReactionCount(i, counts[i]);
+            changed = true;
+        }
+
+        boolean repaired = false;
+        var reactions = Poll.getReactions();
+        for (int i = 0; i < Math.min(10, poll.getOptionCount()); i++) {
+            String emoji = reactions.get();
+            if (self[i]) continue;
+            message.addReaction(emoji).queue();
+            repaired = true;
+        }
+
+        this.seeded.add(poll.getUuid());
+        if (changed || repaired) poll.saveToFile();
+        return new Result(message.getGuild().getId(),
+                repaired ? Outcome.REPAIRED : changed ? Outcome.UPDATED : Outcome.UNCHANGED);
+    }
+
+    /**
+     * Loads the voters of given option into the index. Blocks while fetching
+     * them.
+     */
+    private void seed(Message message, Poll poll, int option, MessageReaction reaction) {
+        List<String> voters = reaction == null ? List.of()
+                : reaction.retrieveUsers()
+                        .complete()
+                        .stream()
+                        .filter(Bot::isVoter)
+                        .map(User::getId)
+                        .toList();
+        this.availability.reset(message.getChannel().getId(), poll, option, voters);
+    }
+
+    /**
+     * Returns the channel of given poll or, if it is unknown, all command
+     * channels.
+     */
+    private List<TextChannel> candidateChannels(JDA jda, Poll poll) {
+        if (poll.getChannelId() != null) {
+            TextChannel channel = jda.getTextChannelById(poll.getChannelId());
+            return channel == null ? List.of() : List.of(channel);
+        }
+        return jda.getTextChannels()
+                .stream()
+                .filter(channel -> channel.getName().equals(this.bot.config(channel).getChannelName()))
+                .toList();
+    }
+}
@@ -0,0 +1,203 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.bot;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.GuildConfig;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.Poll;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.Recurrence;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.Reply;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.DateHelper;
+import net.dv8tion.jda.api.entities.TextChannel;
+
+/**
+ * Opens and closes recurring polls. Due work is collected once per tick,
+ * interleaved across guilds and spread over time so that many simultaneous
+ * poll creations do not hit the global rate limit at once.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 2
+ */
+class RecurrenceScheduler {
+    /**
+     * Interval in which due recurrences are collected
+     */
+    private static final Duration TICK = Duration.ofMinutes(1);
+    /**
+     * Delay between two processed recurrences; a poll creation costs up to 11
+     * requests
+     */
+    private static final Duration STAGGER = Duration.ofSeconds(1);
+    /**
+     * Maximum amount of recurrences processed per tick; the rest stays due
+     */
+    private static final int BATCH_SIZE = (int) (TICK.toMillis() / STAGGER.toMillis());
+
+    private final Bot bot;
+
+    /**
+     * All recurrences by name
+     */
+    private final Map<String, Recurrence> recurrences = new ConcurrentHashMap<>(Recurrence.loadRecurrences());
+
+    /**
+     * Names of recurrences scheduled but not yet processed
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dsa-recurrence");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor of {@link RecurrenceScheduler}. Starts collecting due
+     * recurrences.
+     *
+     * @param bot
+     *            Bot used to open and close polls
+     */
+    RecurrenceScheduler(Bot bot) {
+        this.bot = bot;
+        this.executor.scheduleAtFixedRate(this::tick, TICK.toMillis(), TICK.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers a new recurrence.
+     *
+     * @param recurrence
+     *            Recurrence to register
+     * @param config
+     *            Configuration of the guild of the recurrence
+     * @return Text of an answer message
+     */
+    String add(Recurrence recurrence, GuildConfig config) {
+        if (this.recurrences.putIfAbsent(recurrence.getName(), recurrence) != null) {
+            return config.reply(Reply.RECURRENCE_EXISTS);
+        }
+        recurrence.saveToFile();
+        return config.reply(Reply.RECURRENCE_CREATED, recurrence);
+    }
+
+    /**
+     * Removes given recurrence of given guild. A currently running poll is
+     * kept.
+     *
+     * @param name
+     *            Name of the recurrence
+     * @param guildId
+     *            ID of the guild asking
+     * @param config
+     *            Configuration of the guild asking
+     * @return Text of an answer message
+     */
+    String remove(String name, String guildId, GuildConfig config) {
+        Recurrence recurrence = this.recurrences.get(name);
+        if (recurrence == null || !recurrence.getGuildId().equals(guildId)
+                || !this.recurrences.remove(name, recurrence)) {
+            return config.reply(Reply.RECURRENCE_MISSING);
+        }
+        recurrence.delete();
+        return config.reply(Reply.RECURRENCE_DELETED);
+    }
+
+    /**
+     * Lists all recurrences of given channel.
+     *
+     * @param channelId
+     *            ID of the channel
+     * @param config
+     *            Configuration of the guild of the channel
+     * @return Text of an answer message
+     */
+    String list(String channelId, GuildConfig config) {
+        String list = this.recurrences.values() //
+                .stream() //
+                .filter(r -> r.getChannelId().equals(channelId)) //
+                .map(Recurrence::toString) //
+                .collect(Collectors.joining(System.lineSeparator()));
+        return list.isEmpty() ? config.reply(Reply.RECURRENCE_NONE) : list;
+    }
+
+    /**
+     * Stops processing recurrences.
+     */
+    void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Collects due recurrences and schedules them one after another,
+     * alternating between guilds.
+     */
+    private void tick() {
+        Instant now = Instant.now();
+        Map<String, Deque<Recurrence>> byGuild = new LinkedHashMap<>();
+        this.recurrences.values() //
+                .stream() //
+                .filter(r -> r.isOpenDue(now) || r.isCloseDue(now)) //
+                .filter(r -> !this.pending.contains(r.getName())) //
+                .forEach(r -> byGuild.computeIfAbsent(r.getGuildId(), k -> new ArrayDeque<>()).add(r));
+
+        int scheduled = 0;
+        while (!byGuild.isEmpty() && scheduled < BATCH_SIZE) {
+            for (Iterator<Deque<Recurrence>> it = byGuild.values().iterator(); it.hasNext()
+                    && scheduled < BATCH_SIZE;) {
+                Deque<Recurrence> queue = it.next();
+                Recurrence recurrence = queue.poll();
+                if (queue.isEmpty()) it.remove();
+                this.pending.add(recurrence.getName());
+                this.executor.schedule(() -> this.process(recurrence), scheduled++ * STAGGER.toMillis(),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+        if (scheduled > 0) System.out.println("Scheduled " + scheduled + " recurring poll(s)");
+    }
+
+    /**
+     * Closes and/or opens the poll of given recurrence, whichever is due. A
+     * step is only marked as done once it happened; recurrences whose channel
+     * is not available, whose poll could not be closed or whose name is still
+     * taken by a running poll stay due.
+     */
+    private void process(Recurrence recurrence) {
+        try {
+            if (this.recurrences.get(recurrence.getName()) != recurrence) return;
+            TextChannel channel = this.bot.getTextChannel(recurrence.getChannelId());
+            if (channel == null) return;
+
+            Instant now = Instant.now();
+            if (recurrence.isCloseDue(now)) {
+                String answer = this.bot.closePoll(recurrence.getName(), channel);
+                if (!answer.isBlank()) channel.sendMessage(answer).queue();
+                // Still running, or the name is taken by a poll of another channel
+                if (this.bot.isRunning(recurrence.getName())) return;
+                recurrence.closed(now);
+            }
+            if (recurrence.isOpenDue(now)) {
+                Poll poll = new Poll(recurrence.getName(), recurrence.getQuestion(), DateHelper.nextWeekEnds());
+                this.bot.openPoll(poll, channel);
+                if (!poll.isReady()) return;
+                recurrence.opened(now);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Could not process recurrence " + recurrence.getName());
+            e.printStackTrace();
+        } finally {
+            this.pending.remove(recurrence.getName());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.struc;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of who voted for which option of the running polls. Users
+ * are numbered per channel, so the voters of an option form a compact bit set
+ * and polls of the same channel can be combined with plain set operations.<br>
+ * Polls are indexed by UUID from {@link #track(Poll)} until
+ * {@link #forget(Poll)}; votes for polls not tracked are ignored, so a late
+ * reaction can neither revive an ended poll nor leak into a new poll of the
+ * same name.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 2
+ */
+public class AvailabilityIndex {
+    /**
+     * Availability of all participants for a single option.
+     *
+     * @param option
+     *            Option text, usually a date
+     * @param available
+     *            Amount of participants that voted for the option
+     * @param participants
+     *            Amount of participants of all queried polls
+     */
+    public record Availability(String option, int available, int participants) {
+        /**
+         * Returns if all participants, and at least one, voted for the option.
+         *
+         * @return If everybody is available
+         */
+        public boolean isCommon() {
+            return this.participants > 0 && this.available == this.participants;
+        }
+    }
+
+    /**
+     * Dense numbering of the users of a channel.
+     */
+    private static class UserNumbering {
+        private final Map<String, Integer> numbers = new HashMap<>();
+
+        synchronized int numberOf(String userId) {
+            return this.numbers.computeIfAbsent(userId, k -> this.numbers.size());
+        }
+    }
+
+    private final Map<String, UserNumbering> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Voters of every option by poll UUID
+     */
+    private final Map<UUID, BitSet[]> polls = new ConcurrentHashMap<>();
+
+    /**
+     * Starts recording votes of given poll.
+     *
+     * @param poll
+     *            Poll now running
+     */
+    public void track(Poll poll) {
+        this.polls.computeIfAbsent(poll.getUuid(), k -> {
+            BitSet[] options = new BitSet[Math.min(10, poll.getOptionCount())];
+            for (int i = 0; i < options.length; i++) options[i] = new BitSet();
+            return options;
+        });
+    }
+
+    /**
+     * Records a vote.
+     *
+     * @param channelId
+     *            ID of the channel containing the poll
+     * @param poll
+     *            Poll voted in
+     * @param option
+     *            Index of the option voted for
+     * @param userId
+     *            ID of the voting user
+     */
+    public void add(String channelId, Poll poll, int option, String userId) {
+        BitSet[] options = this.options(poll, option);
+        if (options == null) return;
+        int user = this.numbering(channelId).numberOf(userId);
+        synchronized (options) {
+            options[option].set(user);
+        }
+    }
+
+    /**
+     * Removes a vote.
+     *
+     * @param channelId
+     *            ID of the channel containing the poll
+     * @param poll
+     *            Poll voted in
+     * @param option
+     *            Index of the option voted for
+     * @param userId
+     *            ID of the voting user
+     */
+    public void remove(String channelId, Poll poll, int option, String userId) {
+        BitSet[] options = this.options(poll, option);
+        if (options == null) return;
+        int user = this.numbering(channelId).numberOf(userId);
+        synchronized (options) {
+            options[option].clear(user);
+        }
+    }
+
+    /**
+     * Replaces all votes for an option.
+     *
+     * @param channelId
+     *            ID of the channel containing the poll
+     * @param poll
+     *            Poll voted in
+     * @param option
+     *            Index of the option
+     * @param userIds
+     *            IDs of all users that voted for the option
+     */
+    public void reset(String channelId, Poll poll, int option, Collection<String> userIds) {
+        BitSet[] options = this.options(poll, option);
+        if (options == null) return;
+        UserNumbering numbering = this.numbering(channelId);
+        BitSet voters = new BitSet();
+        userIds.forEach(userId -> voters.set(numbering.numberOf(userId)));
+        synchronized (options) {
+            options[option] = voters;
+        }
+    }
+
+    /**
+     * Drops all votes of given poll.
+     *
+     * @param poll
+     *            Poll no longer running
+     */
+    public void forget(Poll poll) {
+        this.polls.remove(poll.getUuid());
+    }
+
+    /**
+     * Computes for every option of the given polls how many of their
+     * participants are available. Participants are all users that voted for
+     * any option of any of the polls; an option offered by several polls
+     * counts the votes of all of them. Polls not tracked are skipped.
+     *
+     * @param polls
+     *            Polls of the same channel
+     * @return Availability of every option in order of appearance
+     */
+    public List<Availability> query(List<Poll> polls) {
+        BitSet participants = new BitSet();
+        Map<String, BitSet> available = new LinkedHashMap<>();
+        for (Poll poll : polls) {
+            BitSet[] options = this.polls.get(poll.getUuid());
+            if (options == null) continue;
+            synchronized (options) {
+                for (int i = 0; i < options.length; i++) {
+                    participants.or(options[i]);
+                    available.computeIfAbsent(poll.getOption(i), k -> new BitSet()).or(options[i]);
+                }
+            }
+        }
+        int total = participants.cardinality();
+        return available.entrySet()
+                .stream()
+                .map(entry -> new Availability(entry.getKey(), entry.getValue().cardinality(), total))
+                .toList();
+    }
+
+    private UserNumbering numbering(String channelId) {
+        return this.channels.computeIfAbsent(channelId, k -> new UserNumbering());
+    }
+
+    /**
+     * Returns the voters of every option of given poll, or {@code null} if the
+     * poll is not tracked or has no such option.
+     */
+    private BitSet[] options(Poll poll, int option) {
+        BitSet[] options = this.polls.get(poll.getUuid());
+        return options != null && option >= 0 && option < options.length ? options : null;
+    }
+}
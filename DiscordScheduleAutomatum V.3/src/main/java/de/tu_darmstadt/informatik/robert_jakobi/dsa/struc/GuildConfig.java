@@ -0,0 +1,111 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.struc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.Template;
+
+/**
+ * Immutable configuration of a guild with all templates already compiled.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+public final class GuildConfig {
+    /**
+     * Name of the channels commands are accepted in
+     */
+    private final String channelName;
+    /**
+     * Commands not available in the guild
+     */
+    private final Set<String> disabledCommands;
+    /**
+     * Replies of the bot
+     */
+    private final Map<Reply, Template> replies;
+    /**
+     * Template of the .ics
+     */
+    private final Template iCalTemplate;
+    /**
+     * Default data filled into the .ics
+     */
+    private final List<String> inviteData;
+
+    /**
+     * Constructor of a guild configuration.
+     *
+     * @param channelName
+     *            Name of the channels commands are accepted in
+     * @param disabledCommands
+     *            Commands not available in the guild
+     * @param replies
+     *            Template of every reply
+     * @param iCalTemplate
+     *            Template of the .ics
+     * @param inviteData
+     *            Default data filled into the .ics
+     */
+    public GuildConfig(String channelName, Set<String> disabledCommands, Map<Reply, Template> replies,
+            Template iCalTemplate, List<String> inviteData) {
+        this.channelName = channelName;
+        this.disabledCommands = Set.copyOf(disabledCommands);
+        this.replies = Map.copyOf(replies);
+        this.iCalTemplate = iCalTemplate;
+        this.inviteData = List.copyOf(inviteData);
+    }
+
+    /**
+     * Returns name of the channels commands are accepted in.
+     *
+     * @return Name of the command channels
+     */
+    public String getChannelName() {
+        return this.channelName;
+    }
+
+    /**
+     * Returns if given command is disabled in the guild.
+     *
+     * @param command
+     *            Command including its prefix
+     * @return If the command is disabled
+     */
+    public boolean isDisabled(String command) {
+        return this.disabledCommands.contains(command);
+    }
+
+    /**
+     * Returns the text of given reply.
+     *
+     * @param reply
+     *            Reply to render
+     * @param args
+     *            Arguments referenced by the reply
+     * @return Text of the reply
+     */
+    public String reply(Reply reply, Object... args) {
+        return this.replies.get(reply).render(args);
+    }
+
+    /**
+     * Returns the template of the .ics.
+     *
+     * @return Template of the .ics
+     */
+    public Template getICalTemplate() {
+        return this.iCalTemplate;
+    }
+
+    /**
+     * Returns the default data filled into the .ics.
+     *
+     * @return Default invite data
+     */
+    public List<String> getInviteData() {
+        return this.inviteData;
+    }
+}
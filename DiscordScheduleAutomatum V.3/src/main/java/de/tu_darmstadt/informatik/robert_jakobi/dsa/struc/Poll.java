@@ -15,6 +15,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -29,7 +30,7 @@ import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.SystemProperties;
  * 
  * @author Big_Reddy
  * @since 17
- * @version 2
+ * @version 3
  */
 public class Poll implements Serializable {
 
@@ -43,7 +44,18 @@ public class Poll implements Serializable {
      */
     private String messageId;
 
-    private final UUID uuid = UUID.randomUUID();
+    /**
+     * ID of the channel containing the poll message. Unknown for polls created
+     * before it was stored.
+     */
+    private String channelId;
+
+    /**
+     * Last known amount of reactions per option
+     */
+    private AtomicIntegerArray reactionCounts;
+
+    private final UUID uuid;
     /**
      * Name of the poll
      */
@@ -68,9 +80,27 @@ public class Poll implements Serializable {
      *            Possible answer to poll
      */
     public Poll(String name, String question, String[] options) {
+        this(name, question, options, UUID.randomUUID());
+    }
+
+    /**
+     * Constructor of a poll with known identity.
+     * 
+     * @param name
+     *            Name of the poll
+     * @param question
+     *            Question to be polled
+     * @param options
+     *            Possible answer to poll
+     * @param uuid
+     *            Unique id of the poll
+     */
+    Poll(String name, String question, String[] options, UUID uuid) {
         this.name = name;
         this.question = question;
         this.options = options;
+        this.uuid = uuid;
+        this.reactionCounts = new AtomicIntegerArray(options.length);
     }
 
     /**
@@ -83,6 +113,60 @@ public class Poll implements Serializable {
         this.messageId = messageId;
     }
 
+    /**
+     * Setter for {@link Poll#channelId channel}.
+     * 
+     * @param channelId
+     *            ID of the channel containing the poll message
+     */
+    public void setChannelId(String channelId) {
+        this.channelId = channelId;
+    }
+
+    /**
+     * ID of the channel containing the poll message.
+     * 
+     * @return Channel ID of poll or {@code null} if unknown
+     */
+    public String getChannelId() {
+        return this.channelId;
+    }
+
+    /**
+     * Returns the last known amount of reactions to given option.
+     * 
+     * @param index
+     *            Index of the option
+     * @return Amount of reactions
+     */
+    public int getReactionCount(int index) {
+        return this.reactionCounts().get(index);
+    }
+
+    /**
+     * Sets the amount of reactions to given option.
+     * 
+     * @param index
+     *            Index of the option
+     * @param count
+     *            Amount of reactions
+     */
+    public void setReactionCount(int index, int count) {
+        this.reactionCounts().set(index, count);
+    }
+
+    /**
+     * Changes the amount of reactions to given option by given delta.
+     * 
+     * @param index
+     *            Index of the option
+     * @param delta
+     *            Change of the amount of reactions
+     */
+    public void addReactionCount(int index, int delta) {
+        this.reactionCounts().addAndGet(index, delta);
+    }
+
     /**
      * Returns name of this poll.
      * 
@@ -92,6 +176,15 @@ public class Poll implements Serializable {
         return this.name;
     }
 
+    /**
+     * Returns question of this poll.
+     * 
+     * @return Question of the poll
+     */
+    public String getQuestion() {
+        return this.question;
+    }
+
     /**
      * ID of associated poll message.
      * 
@@ -122,13 +215,13 @@ public class Poll implements Serializable {
     }
 
     /**
-     * Returns if ID of message associated is set and therefore poll is ready
-     * for interactions.
+     * Returns if IDs of message and channel associated are set and therefore
+     * poll is ready for interactions.
      * 
-     * @return If ID of message is set
+     * @return If IDs of message and channel are set
      */
     public boolean isReady() {
-        return this.messageId != null;
+        return this.messageId != null && this.channelId != null;
     }
 
     /**
@@ -158,6 +251,20 @@ public class Poll implements Serializable {
         };
     }
 
+    /**
+     * Returns the index of the option given reaction symbol stands for.
+     * 
+     * @param reaction
+     *            Reaction symbol
+     * @return Index of the option or -1 if the symbol is no option of this
+     *         poll
+     */
+    public int getOptionIndex(String reaction) {
+        if (reaction.length() != 3 || !reaction.endsWith("\uFE0F\u20E3")) return -1;
+        int index = Character.digit(reaction.charAt(0), 10);
+        return index < Math.min(10, this.options.length) ? index : -1;
+    }
+
     /**
      * Deactivates this poll and removes its persistent representation.
      * 
@@ -176,7 +283,18 @@ public class Poll implements Serializable {
      * @return If saving was successful
      */
     public boolean saveToFile() {
-        try (var out = new ObjectOutputStream(new FileOutputStream(getPath().toFile()))) {
+        return this.saveToFile(getPath().toFile());
+    }
+
+    /**
+     * Creates a persistent copy of the state of this object in given file.
+     * 
+     * @param file
+     *            Location of object file
+     * @return If saving was successful
+     */
+    boolean saveToFile(File file) {
+        try (var out = new ObjectOutputStream(new FileOutputStream(file))) {
             out.writeObject(this);
             return true;
         } catch (Exception e) {
@@ -194,13 +312,26 @@ public class Poll implements Serializable {
      * @return Loaded poll
      */
     public static Poll loadFromFile(File file) {
+        Poll poll = loadQuietly(file);
+        if (poll == null) System.out.println("Poll could not be recovered");
+        return poll;
+    }
+
+    /**
+     * Loads a given poll from persistent storage into memory without
+     * reporting failures, e.g. for files possibly being written.
+     * 
+     * @param file
+     *            Location of object file
+     * @return Loaded poll or {@code null} if it could not be read
+     */
+    static Poll loadQuietly(File file) {
         try (var in = new ObjectInputStream(new FileInputStream(file))) {
             if (in.readObject() instanceof Poll poll) {
                 return poll;
             }
             throw new InvalidClassException("");
         } catch (IOException | ClassNotFoundException e) {
-            System.out.println("Poll could not be recovered");
             return null;
         }
     }
@@ -235,4 +366,12 @@ public class Poll implements Serializable {
     public UUID getUuid() {
         return this.uuid;
     }
+
+    /**
+     * Returns the reaction counts, creating them for polls stored without.
+     */
+    private synchronized AtomicIntegerArray reactionCounts() {
+        if (this.reactionCounts == null) this.reactionCounts = new AtomicIntegerArray(this.options.length);
+        return this.reactionCounts;
+    }
 }
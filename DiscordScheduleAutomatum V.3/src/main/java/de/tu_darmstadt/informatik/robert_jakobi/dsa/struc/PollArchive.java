@@ -0,0 +1,291 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.struc;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.FileManager;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.SystemProperties;
+
+/**
+ * Portable archive of all active and finished polls and all recurrences,
+ * independent of the class versions used to store them.<br>
+ * Layout (gzip compressed): magic, schema version, one record per poll or
+ * recurrence, end marker, record count and the CRC32 of everything before it.
+ * Records are streamed one at a time in both directions, so memory use does
+ * not grow with the amount of polls.<br>
+ * Schema 2 added recurrence records; archives of schema 1 are still read.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 2
+ */
+public final class PollArchive {
+    /**
+     * "DSAX"
+     */
+    private static final int MAGIC = 0x44534158;
+    private static final int SCHEMA_VERSION = 2;
+
+    private static final byte END = 0;
+    private static final byte ACTIVE = 1;
+    private static final byte FINISHED = 2;
+    private static final byte RECURRENCE = 3;
+
+    private static final int IMPORT_THREADS = 4;
+    private static final int IMPORT_QUEUE = 64;
+
+    /**
+     * Unused constructor
+     */
+    private PollArchive() {}
+
+    /**
+     * Writes all active and finished polls and all recurrences to given
+     * archive.
+     *
+     * @param archive
+     *            Location of the archive
+     * @return Amount of polls and recurrences exported
+     * @throws IOException
+     *             Thrown if polls could not be read or the archive could not be
+     *             written
+     */
+    public static int exportTo(Path archive) throws IOException {
+        CRC32 checksum = new CRC32();
+        int count = 0;
+        try (var out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(archive))), checksum))) {
+            out.writeInt(MAGIC);
+            out.writeInt(SCHEMA_VERSION);
+            count += writeAll(out, ACTIVE, SystemProperties.pollsPath);
+            count += writeAll(out, FINISHED, SystemProperties.finishedPollsPath);
+            count += writeRecurrences(out);
+            out.writeByte(END);
+            out.writeInt(count);
+            out.flush();
+            out.writeLong(checksum.getValue());
+        }
+        return count;
+    }
+
+    /**
+     * Restores all polls and recurrences of given archive. They are written in
+     * parallel to a staging directory and only moved into place once the whole
+     * archive was verified; existing files of the same name are replaced.
+     *
+     * @param archive
+     *            Location of the archive
+     * @return Amount of polls and recurrences imported
+     * @throws IOException
+     *             Thrown if the archive is invalid or polls could not be
+     *             written
+     */
+    public static int importFrom(Path archive) throws IOException {
+        Path staging = Files.createTempDirectory(FileManager.getPath(), "import");
+        try {
+            Files.createDirectories(staging.resolve(SystemProperties.pollsPath));
+            Files.createDirectories(staging.resolve(SystemProperties.finishedPollsPath));
+            Files.createDirectories(staging.resolve(SystemProperties.recurrencesPath));
+            int count = readAll(archive, staging);
+            moveAll(staging, SystemProperties.pollsPath);
+            moveAll(staging, SystemProperties.finishedPollsPath);
+            moveAll(staging, SystemProperties.recurrencesPath);
+            return count;
+        } finally {
+            try (Stream<Path> files = Files.walk(staging)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static int writeAll(DataOutputStream out, byte type, String folder) throws IOException {
+        int count = 0;
+        try (Stream<Path> files = Files.list(FileManager.getPath(folder))) {
+            for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+                Poll poll = Poll.loadFromFile(file.toFile());
+                if (poll == null) continue;
+                out.writeByte(type);
+                out.writeUTF(file.getFileName().toString());
+                write(out, poll);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int writeRecurrences(DataOutputStream out) throws IOException {
+        int count = 0;
+        try (Stream<Path> files = Files.list(FileManager.getPath(SystemProperties.recurrencesPath))) {
+            for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+                Recurrence recurrence = Recurrence.loadFromFile(file.toFile());
+                if (recurrence == null) continue;
+                out.writeByte(RECURRENCE);
+                out.writeUTF(file.getFileName().toString());
+                write(out, recurrence);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Decodes the archive on the calling thread and writes the records on a
+     * bounded pool; the caller writes itself while the pool is busy.
+     */
+    private static int readAll(Path archive, Path staging) throws IOException {
+        CRC32 checksum = new CRC32();
+        ThreadPoolExecutor writers = new ThreadPoolExecutor(IMPORT_THREADS, IMPORT_THREADS, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(IMPORT_QUEUE), new ThreadPoolExecutor.CallerRunsPolicy());
+        AtomicInteger failures = new AtomicInteger();
+        int count = 0;
+        try (var in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(archive))), checksum))) {
+            if (in.readInt() != MAGIC) throw new InvalidObjectException("Not a poll archive");
+            int version = in.readInt();
+            if (version > SCHEMA_VERSION) throw new InvalidObjectException("Unsupported schema version " + version);
+
+            for (byte type = in.readByte(); type != END; type = in.readByte()) {
+                String folder = switch (type) {
+                    case ACTIVE -> SystemProperties.pollsPath;
+                    case FINISHED -> SystemProperties.finishedPollsPath;
+                    case RECURRENCE -> SystemProperties.recurrencesPath;
+                    default -> throw new InvalidObjectException("Unknown record type " + type);
+                };
+                Path file = staging.resolve(folder).resolve(in.readUTF());
+                if (!file.getParent().equals(staging.resolve(folder))) {
+                    throw new InvalidObjectException("Invalid file name " + file.getFileName());
+                }
+                Predicate<File> save = type == RECURRENCE ? readRecurrence(in)::saveToFile : read(in)::saveToFile;
+                writers.execute(() -> {
+                    if (!save.test(file.toFile())) failures.incrementAndGet();
+                });
+                count++;
+            }
+            if (in.readInt() != count) throw new InvalidObjectException("Record count does not match");
+            long expected = checksum.getValue();
+            if (in.readLong() != expected) throw new InvalidObjectException("Checksum does not match");
+        } finally {
+            writers.shutdown();
+            try {
+                writers.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failures.get() > 0) throw new IOException(failures.get() + " poll(s) could not be written");
+        return count;
+    }
+
+    private static void moveAll(Path staging, String folder) throws IOException {
+        try (Stream<Path> files = Files.list(staging.resolve(folder))) {
+            for (Path file : files.toList()) {
+                Files.move(file, FileManager.getPath(folder, file.getFileName().toString()),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static void write(DataOutputStream out, Poll poll) throws IOException {
+        out.writeUTF(poll.getName());
+        out.writeUTF(poll.getQuestion());
+        out.writeLong(poll.getUuid().getMostSignificantBits());
+        out.writeLong(poll.getUuid().getLeastSignificantBits());
+        writeNullable(out, poll.getMessageId());
+        writeNullable(out, poll.getChannelId());
+        out.writeInt(poll.getOptionCount());
+        for (int i = 0; i < poll.getOptionCount(); i++) {
+            out.writeUTF(poll.getOption(i));
+            out.writeInt(poll.getReactionCount(i));
+        }
+    }
+
+    private static Poll read(DataInputStream in) throws IOException {
+        String name = in.readUTF();
+        String question = in.readUTF();
+        UUID uuid = new UUID(in.readLong(), in.readLong());
+        String messageId = readNullable(in);
+        String channelId = readNullable(in);
+        String[] options = new String[in.readInt()];
+        int[] counts = new int[options.length];
+        for (int i = 0; i < options.length; i++) {
+            options[i] = in.readUTF();
+            counts[i] = in.readInt();
+        }
+        Poll poll = new Poll(name, question, options, uuid);
+        poll.setMessageId(messageId);
+        poll.setChannelId(channelId);
+        for (int i = 0; i < counts.length; i++) poll.setReactionCount(i, counts[i]);
+        return poll;
+    }
+
+    private static void write(DataOutputStream out, Recurrence recurrence) throws IOException {
+        out.writeUTF(recurrence.getName());
+        out.writeUTF(recurrence.getQuestion());
+        out.writeUTF(recurrence.getGuildId());
+        out.writeUTF(recurrence.getChannelId());
+        out.writeUTF(recurrence.getOpenDay().name());
+        out.writeUTF(recurrence.getOpenTime().toString());
+        out.writeUTF(recurrence.getCloseDay().name());
+        out.writeUTF(recurrence.getCloseTime().toString());
+        writeInstant(out, recurrence.getLastOpened());
+        writeInstant(out, recurrence.getLastClosed());
+    }
+
+    private static Recurrence readRecurrence(DataInputStream in) throws IOException {
+        String name = in.readUTF();
+        String question = in.readUTF();
+        String guildId = in.readUTF();
+        String channelId = in.readUTF();
+        try {
+            return new Recurrence(name, question, guildId, channelId, //
+                    DayOfWeek.valueOf(in.readUTF()), LocalTime.parse(in.readUTF()), //
+                    DayOfWeek.valueOf(in.readUTF()), LocalTime.parse(in.readUTF()), //
+                    readInstant(in), readInstant(in));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidObjectException("Invalid recurrence " + name);
+        }
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNano());
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
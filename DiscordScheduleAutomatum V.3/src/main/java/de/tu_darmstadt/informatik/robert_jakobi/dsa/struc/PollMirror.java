@@ -0,0 +1,63 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.struc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.FileManager;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.SystemProperties;
+
+/**
+ * Read-only copy of the active polls written by another instance. Only files
+ * changed since the last refresh are loaded again, so a standby can keep its
+ * state warm at little cost.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 2
+ */
+public class PollMirror {
+    /**
+     * Loaded poll together with the modification time of its file;
+     * {@code null} if the file changed but could not be read yet.
+     */
+    private record Entry(FileTime modified, Poll poll) {}
+
+    /**
+     * Mirrored polls by their file
+     */
+    private final Map<Path, Entry> entries = new HashMap<>();
+
+    /**
+     * Synchronises the mirror with the files of all active polls. Files that
+     * can not be read (e.g. while being written) are retried on the next
+     * refresh; until then the last good copy is kept.
+     *
+     * @return All active polls by name
+     */
+    public Map<String, Poll> refresh() {
+        try (var files = Files.list(FileManager.getPath(SystemProperties.pollsPath))) {
+            List<Path> paths = files.toList();
+            this.entries.keySet().retainAll(paths);
+            for (Path path : paths) {
+                FileTime modified = Files.getLastModifiedTime(path);
+                Entry entry = this.entries.get(path);
+                if (entry != null && Objects.equals(entry.modified(), modified)) continue;
+                Poll poll = Poll.loadQuietly(path.toFile());
+                if (poll != null) this.entries.put(path, new Entry(modified, poll));
+                else if (entry != null) this.entries.put(path, new Entry(null, entry.poll()));
+            }
+        } catch (IOException e) {
+            System.out.println("Polls could not be mirrored");
+            e.printStackTrace();
+        }
+        Map<String, Poll> polls = new HashMap<>();
+        this.entries.values().forEach(entry -> polls.put(entry.poll().getName(), entry.poll()));
+        return polls;
+    }
+}
@@ -0,0 +1,339 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.struc;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.FileManager;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.SystemProperties;
+
+/**
+ * Data class representing a weekly recurring poll of a channel. Self managed
+ * storing and loading to files for persistent memory.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+public class Recurrence implements Serializable {
+
+    /**
+     * Serial id
+     */
+    private static final long serialVersionUID = 4630519224413788150L;
+
+    /**
+     * Name of the recurring poll
+     */
+    private final String name;
+    /**
+     * Question of the recurring poll
+     */
+    private final String question;
+    /**
+     * ID of the guild the poll is opened in
+     */
+    private final String guildId;
+    /**
+     * ID of the channel the poll is opened in
+     */
+    private final String channelId;
+
+    private final DayOfWeek openDay;
+    private final LocalTime openTime;
+    private final DayOfWeek closeDay;
+    private final LocalTime closeTime;
+
+    /**
+     * Last time the poll got opened
+     */
+    private Instant lastOpened;
+    /**
+     * Last time the poll got closed
+     */
+    private Instant lastClosed;
+
+    /**
+     * Constructor of a recurrence. First occurrences are the ones following
+     * the time of creation.
+     *
+     * @param name
+     *            Name of the recurring poll
+     * @param question
+     *            Question to be polled
+     * @param guildId
+     *            ID of the guild the poll is opened in
+     * @param channelId
+     *            ID of the channel the poll is opened in
+     * @param openDay
+     *            Day of the week the poll is opened
+     * @param openTime
+     *            Time of day the poll is opened
+     * @param closeDay
+     *            Day of the week the poll is closed
+     * @param closeTime
+     *            Time of day the poll is closed
+     */
+    public Recurrence(String name, String question, String guildId, String channelId, DayOfWeek openDay,
+            LocalTime openTime, DayOfWeek closeDay, LocalTime closeTime) {
+        this.name = name;
+        this.question = question;
+        this.guildId = guildId;
+        this.channelId = channelId;
+        this.openDay = openDay;
+        this.openTime = openTime;
+        this.closeDay = closeDay;
+        this.closeTime = closeTime;
+        this.lastOpened = Instant.now();
+        this.lastClosed = this.lastOpened;
+    }
+
+    /**
+     * Constructor of a recurrence with known state.
+     *
+     * @param name
+     *            Name of the recurring poll
+     * @param question
+     *            Question to be polled
+     * @param guildId
+     *            ID of the guild the poll is opened in
+     * @param channelId
+     *            ID of the channel the poll is opened in
+     * @param openDay
+     *            Day of the week the poll is opened
+     * @param openTime
+     *            Time of day the poll is opened
+     * @param closeDay
+     *            Day of the week the poll is closed
+     * @param closeTime
+     *            Time of day the poll is closed
+     * @param lastOpened
+     *            Last time the poll got opened
+     * @param lastClosed
+     *            Last time the poll got closed
+     */
+    Recurrence(String name, String question, String guildId, String channelId, DayOfWeek openDay,
+            LocalTime openTime, DayOfWeek closeDay, LocalTime closeTime, Instant lastOpened, Instant lastClosed) {
+        this(name, question, guildId, channelId, openDay, openTime, closeDay, closeTime);
+        this.lastOpened = lastOpened;
+        this.lastClosed = lastClosed;
+    }
+
+    /**
+     * Returns name of this recurrence.
+     *
+     * @return Name of the recurring poll
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns question of this recurrence.
+     *
+     * @return Question of the recurring poll
+     */
+    public String getQuestion() {
+        return this.question;
+    }
+
+    /**
+     * Returns ID of the guild the poll is opened in.
+     *
+     * @return ID of the guild
+     */
+    public String getGuildId() {
+        return this.guildId;
+    }
+
+    /**
+     * Returns ID of the channel the poll is opened in.
+     *
+     * @return ID of the channel
+     */
+    public String getChannelId() {
+        return this.channelId;
+    }
+
+    DayOfWeek getOpenDay() {
+        return this.openDay;
+    }
+
+    LocalTime getOpenTime() {
+        return this.openTime;
+    }
+
+    DayOfWeek getCloseDay() {
+        return this.closeDay;
+    }
+
+    LocalTime getCloseTime() {
+        return this.closeTime;
+    }
+
+    Instant getLastOpened() {
+        return this.lastOpened;
+    }
+
+    Instant getLastClosed() {
+        return this.lastClosed;
+    }
+
+    /**
+     * Returns if an opening of the poll passed since it was last opened.
+     *
+     * @param now
+     *            Current time
+     * @return If the poll is due to be opened
+     */
+    public boolean isOpenDue(Instant now) {
+        return !next(this.lastOpened, this.openDay, this.openTime).isAfter(now);
+    }
+
+    /**
+     * Returns if a closing of the poll passed since it was last closed.
+     *
+     * @param now
+     *            Current time
+     * @return If the poll is due to be closed
+     */
+    public boolean isCloseDue(Instant now) {
+        return !next(this.lastClosed, this.closeDay, this.closeTime).isAfter(now);
+    }
+
+    /**
+     * Marks the poll as opened.
+     *
+     * @param now
+     *            Time of opening
+     */
+    public void opened(Instant now) {
+        this.lastOpened = now;
+        this.saveToFile();
+    }
+
+    /**
+     * Marks the poll as closed.
+     *
+     * @param now
+     *            Time of closing
+     */
+    public void closed(Instant now) {
+        this.lastClosed = now;
+        this.saveToFile();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString() {
+        return "**%s** %s %s - %s %s".formatted(this.name, this.openDay, this.openTime, this.closeDay, this.closeTime);
+    }
+
+    /**
+     * Removes the persistent representation of this recurrence.
+     *
+     * @return If removal was successful
+     */
+    public boolean delete() {
+        return this.getPath().toFile().delete();
+    }
+
+    /**
+     * Creates a persistent copy of the state of this object.
+     *
+     * @return If saving was successful
+     */
+    public boolean saveToFile() {
+        return this.saveToFile(getPath().toFile());
+    }
+
+    /**
+     * Creates a persistent copy of the state of this object in given file.
+     *
+     * @param file
+     *            Location of object file
+     * @return If saving was successful
+     */
+    boolean saveToFile(File file) {
+        try (var out = new ObjectOutputStream(new FileOutputStream(file))) {
+            out.writeObject(this);
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.out.println("Could not save recurrence");
+            return false;
+        }
+    }
+
+    /**
+     * Loads a given recurrence from persistent storage into memory.
+     *
+     * @param file
+     *            Location of object file
+     * @return Loaded recurrence
+     */
+    public static Recurrence loadFromFile(File file) {
+        try (var in = new ObjectInputStream(new FileInputStream(file))) {
+            if (in.readObject() instanceof Recurrence recurrence) {
+                return recurrence;
+            }
+            throw new InvalidClassException("");
+        } catch (IOException | ClassNotFoundException e) {
+            System.out.println("Recurrence could not be recovered");
+            return null;
+        }
+    }
+
+    /**
+     * Loads all recurrences from persistent storage into memory.
+     *
+     * @return All recurrences loaded
+     */
+    public static Map<String, Recurrence> loadRecurrences() {
+        try {
+            return Files.list(FileManager.getPath(SystemProperties.recurrencesPath)) //
+                    .map(Path::toFile) //
+                    .map(Recurrence::loadFromFile) //
+                    .filter(Objects::nonNull) //
+                    .collect(Collectors.toMap(Recurrence::getName, Function.identity()));
+        } catch (IOException e) {
+            System.out.println("No recurrences could not be recovered");
+            e.printStackTrace();
+            return new HashMap<>();
+        }
+    }
+
+    private Path getPath() {
+        return FileManager.getPath(SystemProperties.recurrencesPath, this.name);
+    }
+
+    /**
+     * Returns the first point in time at given day and time after given
+     * instant.
+     */
+    private static Instant next(Instant after, DayOfWeek day, LocalTime time) {
+        ZonedDateTime base = after.atZone(ZoneId.systemDefault());
+        ZonedDateTime candidate = base.with(TemporalAdjusters.nextOrSame(day)).with(time);
+        if (!candidate.isAfter(base)) candidate = candidate.plusWeeks(1);
+        return candidate.toInstant();
+    }
+}
@@ -0,0 +1,71 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.struc;
+
+/**
+ * Configurable replies of the bot with their default text. Overridden by
+ * {@code text.<key>} in a guild configuration.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 2
+ */
+public enum Reply {
+    PONG("ping", 0, "pong"),
+    UNKNOWN_COMMAND("unknown", 0, "???"),
+    THROTTLED("throttled", 0, "Zu viele Anfragen, bitte warte kurz."),
+    OVERLOADED("overloaded", 0, "Ich bin gerade ausgelastet, bitte versuche es später erneut."),
+    POLL_EXISTS("poll.exists", 0, "Poll already exists"),
+    POLL_MISSING("poll.missing", 0, "Poll does not exist"),
+    POLL_DELETED("poll.deleted", 0, "Poll deleted"),
+    NEXT_QUESTION("poll.next", 0, "Wann habt ihr Zeit für die nächste Session?"),
+    VOTES_MISSING("poke.missing", 0, "Es müssen die Umfrage noch ausfüllen:"),
+    VOTES_COMPLETE("poke.complete", 0, "Abstimmung abgeschlossen!"),
+    DATE_FOUND("endpoll.found", 1, "@everyone Nächster Termin steht fest: %s"),
+    DATE_NOT_FOUND("endpoll.none", 0, "```diff\n- Kein Termin konnte gefunden werden```"),
+    RECURRENCE_INVALID("recur.invalid", 0, "Invalid recurrence"),
+    RECURRENCE_EXISTS("recur.exists", 0, "Recurrence already exists"),
+    RECURRENCE_CREATED("recur.created", 1, "Recurrence created: %s"),
+    RECURRENCE_MISSING("recur.missing", 0, "Recurrence does not exist"),
+    RECURRENCE_DELETED("recur.deleted", 0, "Recurrence deleted"),
+    RECURRENCE_NONE("recur.none", 0, "No recurrences"),
+    COMMON_FOUND("common.found", 1, "Alle haben Zeit am: %s"),
+    COMMON_BEST("common.best", 1, "Kein gemeinsamer Termin, am ehesten: %s"),
+    COMMON_NONE("common.none", 0, "Noch keine Stimmen abgegeben"), //
+    ;
+
+    private final String key;
+    private final int arguments;
+    private final String defaultText;
+
+    private Reply(String key, int arguments, String defaultText) {
+        this.key = key;
+        this.arguments = arguments;
+        this.defaultText = defaultText;
+    }
+
+    /**
+     * Returns the configuration key of this reply.
+     *
+     * @return Configuration key
+     */
+    public String getKey() {
+        return "text." + this.key;
+    }
+
+    /**
+     * Returns the amount of arguments this reply is rendered with.
+     *
+     * @return Amount of arguments
+     */
+    public int getArguments() {
+        return this.arguments;
+    }
+
+    /**
+     * Returns the text used if no configuration overrides it.
+     *
+     * @return Default text
+     */
+    public String getDefaultText() {
+        return this.defaultText;
+    }
+}
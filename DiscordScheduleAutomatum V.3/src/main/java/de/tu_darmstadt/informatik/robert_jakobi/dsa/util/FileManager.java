@@ -7,8 +7,8 @@ import java.util.stream.Collectors;
 
 public class FileManager implements SystemProperties {
 
-    static final String ICAL_FORMAT_FILE = "template.ical";
-    static final String ICAL_DATA_FILE = "invite.data";
+    public static final String ICAL_FORMAT_FILE = "template.ical";
+    public static final String ICAL_DATA_FILE = "invite.data";
 
     static {
         try {
@@ -53,6 +53,8 @@ public class FileManager implements SystemProperties {
         Files.createDirectories(getPath(logPath));
         Files.createDirectories(getPath(pollsPath));
         Files.createDirectories(getPath(finishedPollsPath));
+        Files.createDirectories(getPath(recurrencesPath));
+        Files.createDirectories(getPath(configPath));
 
         validateRequiredFile(keyPath, "Bot-Key needed! Location: ", true);
         validateRequiredFile(ICAL_FORMAT_FILE, "Please provide required format for ICal invite in", false);
@@ -1,15 +1,13 @@
 package de.tu_darmstadt.informatik.robert_jakobi.dsa.util;
 
 import static de.tu_darmstadt.informatik.robert_jakobi.dsa.util.DateFormat.ICAL_DATE_FULL;
-import static de.tu_darmstadt.informatik.robert_jakobi.dsa.util.FileManager.ICAL_DATA_FILE;
-import static de.tu_darmstadt.informatik.robert_jakobi.dsa.util.FileManager.ICAL_FORMAT_FILE;
-import static de.tu_darmstadt.informatik.robert_jakobi.dsa.util.FileManager.loadFromFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.TemporalAccessor;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -17,22 +15,13 @@ import java.util.UUID;
  * 
  * @author Big_Reddy
  * @since 11
- * @version 3
+ * @version 4
  */
 public class ICalConstructor {
     /**
-     * Template of the .ics
+     * Amount of arguments the template of the .ics is rendered with
      */
-    private final static String template;
-
-    private final static String[] defaultData;
-
-    static {
-        template = loadFromFile(ICAL_FORMAT_FILE);
-        defaultData = loadFromFile(ICAL_DATA_FILE) //
-                .lines() //
-                .toArray(String[]::new);
-    }
+    public static final int TEMPLATE_ARGUMENTS = 8;
 
     /**
      * Unused constructor
@@ -43,16 +32,21 @@ public class ICalConstructor {
      * Generates a stream representing the content of an .ics file derived from
      * given values.
      * 
+     * @param template
+     *            Compiled template of the .ics file
+     * @param defaultData
+     *            Data used if no additional data is given
      * @param date
      *            Date of the event
      * @param inputData
      *            Additional data for the .ics file
      * @return InputStream of the contents of an .ics file
      */
-    public static InputStream getICal(TemporalAccessor date, UUID uuid, String... inputData) {
+    public static InputStream getICal(Template template, List<String> defaultData, TemporalAccessor date, UUID uuid,
+            String... inputData) {
         var localDate = LocalDate.from(date);
-        String[] data = inputData.length == 0 ? defaultData : inputData;
-        return new ByteArrayInputStream(template.formatted( //
+        String[] data = inputData.length == 0 ? defaultData.toArray(String[]::new) : inputData;
+        return new ByteArrayInputStream(template.render( //
                 uuid.toString(), //
                 ICAL_DATE_FULL.format(Instant.now()), //
                 DateHelper.dateAt(localDate, data[3], ICAL_DATE_FULL), //
@@ -0,0 +1,53 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.util;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * OS-level lock on a file shared by all instances working on the same
+ * resource directory. Only the holder of the lock may act on Discord; the lock
+ * is released by the OS as soon as the holding process dies.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+public class LeaderLock {
+    /**
+     * Channel of the lock file; must stay open while the lock is held
+     */
+    private final FileChannel channel;
+
+    /**
+     * Lock held or {@code null} if not acquired yet
+     */
+    private FileLock lock;
+
+    /**
+     * Constructor of {@link LeaderLock}. Opens (and creates) the lock file
+     * without acquiring the lock.
+     *
+     * @param path
+     *            Location of the lock file
+     * @throws IOException
+     *             Thrown if the lock file could not be opened
+     */
+    public LeaderLock(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Tries to acquire the lock without blocking.
+     *
+     * @return If this instance holds the lock
+     * @throws IOException
+     *             Thrown if the lock file could not be accessed
+     */
+    public boolean tryAcquire() throws IOException {
+        if (this.lock == null) this.lock = this.channel.tryLock();
+        return this.lock != null;
+    }
+}
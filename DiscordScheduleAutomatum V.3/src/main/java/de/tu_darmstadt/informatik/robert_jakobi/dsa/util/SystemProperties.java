@@ -6,5 +6,8 @@ public interface SystemProperties {
     String logPath = "logs";
     String pollsPath = "polls";
     String finishedPollsPath = "old_polls";
+    String recurrencesPath = "recurrences";
+    String configPath = "config";
     String keyPath = "key";
+    String lockPath = "leader.lock";
 }
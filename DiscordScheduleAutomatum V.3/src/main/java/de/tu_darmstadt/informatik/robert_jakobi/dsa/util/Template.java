@@ -0,0 +1,111 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precompiled text template. Understands the subset of format specifiers used
+ * by the bot ({@code %s}, {@code %1$s}, {@code %n} and {@code %%}) and splits
+ * the pattern once, so rendering only appends.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 2
+ */
+public final class Template {
+    /**
+     * Literal text before, between and after the arguments
+     */
+    private final String[] literals;
+    /**
+     * Index of the argument following each literal
+     */
+    private final int[] arguments;
+
+    private final int literalLength;
+
+    private Template(String[] literals, int[] arguments) {
+        this.literals = literals;
+        this.arguments = arguments;
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+    }
+
+    /**
+     * Compiles given pattern.
+     *
+     * @param pattern
+     *            Pattern in {@link String#format(String, Object...)} syntax
+     * @param argumentCount
+     *            Amount of arguments the template will be rendered with
+     * @return Compiled template
+     * @throws IllegalArgumentException
+     *             Thrown if the pattern contains an unsupported format specifier
+     *             or references an argument that is not supplied
+     */
+    public static Template compile(String pattern, int argumentCount) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int next = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (++i == pattern.length()) throw new IllegalArgumentException("Incomplete format specifier at end");
+            c = pattern.charAt(i);
+            if (c == '%') {
+                literal.append('%');
+            } else if (c == 'n') {
+                literal.append(System.lineSeparator());
+            } else {
+                int index;
+                if (c == 's') {
+                    index = next++;
+                } else {
+                    int start = i;
+                    while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) i++;
+                    if (i == start || !pattern.startsWith("$s", i)) {
+                        throw new IllegalArgumentException("Unsupported format specifier at " + (start - 1));
+                    }
+                    index = Integer.parseInt(pattern, start, i, 10) - 1;
+                    i++;
+                }
+                if (index < 0 || index >= argumentCount) {
+                    throw new IllegalArgumentException("Argument " + (index + 1) + " not supplied, only "
+                            + argumentCount + " available");
+                }
+                literals.add(literal.toString());
+                arguments.add(index);
+                literal.setLength(0);
+            }
+        }
+        literals.add(literal.toString());
+        return new Template(literals.toArray(String[]::new), arguments.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Fills in given arguments.
+     *
+     * @param args
+     *            Arguments referenced by the template
+     * @return Rendered text
+     */
+    public String render(Object... args) {
+        if (this.arguments.length == 0) return this.literals[0];
+        String[] values = new String[this.arguments.length];
+        int length = this.literalLength;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = String.valueOf(args[this.arguments[i]]);
+            length += values[i].length();
+        }
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < values.length; i++) {
+            builder.append(this.literals[i]).append(values[i]);
+        }
+        return builder.append(this.literals[values.length]).toString();
+    }
+}
@@ -0,0 +1,81 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.util;
+
+import java.time.Duration;
+
+/**
+ * Simple token bucket. Starts full, regains one token per refill interval and
+ * never holds more than its capacity.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+public class TokenBucket {
+    /**
+     * Maximum amount of tokens
+     */
+    private final int capacity;
+    /**
+     * Nanoseconds needed to regain one token
+     */
+    private final long refillNanos;
+
+    /**
+     * Tokens currently available
+     */
+    private double tokens;
+    /**
+     * Timestamp of the last refill in nanoseconds
+     */
+    private long lastRefill = System.nanoTime();
+
+    /**
+     * Constructor of a token bucket.
+     *
+     * @param capacity
+     *            Maximum amount of tokens (burst size)
+     * @param refillInterval
+     *            Time needed to regain a single token
+     */
+    public TokenBucket(int capacity, Duration refillInterval) {
+        this.capacity = capacity;
+        this.refillNanos = refillInterval.toNanos();
+        this.tokens = capacity;
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return If a token was taken
+     */
+    public synchronized boolean tryConsume() {
+        this.refill();
+        if (this.tokens < 1) return false;
+        this.tokens--;
+        return true;
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryConsume()}.
+     */
+    public synchronized void refund() {
+        this.tokens = Math.min(this.capacity, this.tokens + 1);
+    }
+
+    /**
+     * Returns if this bucket is full and therefore indistinguishable from a new
+     * one.
+     *
+     * @return If all tokens are available
+     */
+    public synchronized boolean isFull() {
+        this.refill();
+        return this.tokens >= this.capacity;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        this.tokens = Math.min(this.capacity, this.tokens + (double) (now - this.lastRefill) / this.refillNanos);
+        this.lastRefill = now;
+    }
+}
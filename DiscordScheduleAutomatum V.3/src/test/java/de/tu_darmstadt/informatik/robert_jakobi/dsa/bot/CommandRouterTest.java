@@ -0,0 +1,100 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.bot;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.bot.CommandRouter.Call;
+
+/**
+ * Tests of command recognition and argument splitting of
+ * {@link CommandRouter}.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+public class CommandRouterTest {
+
+    private static String[] args(String content) {
+        return CommandRouter.route(content).args();
+    }
+
+    @Test
+    public void ignoresChatter() {
+        assertNull(CommandRouter.route(""));
+        assertNull(CommandRouter.route("!"));
+        assertNull(CommandRouter.route("hello there"));
+        assertNull(CommandRouter.route("ping"));
+        assertNull(CommandRouter.route("!unknown"));
+        assertNull(CommandRouter.route("!über"));
+    }
+
+    @Test
+    public void requiresSeparatorAfterName() {
+        assertNull(CommandRouter.route("!pingpong"));
+        assertNull(CommandRouter.route("!poke;x"));
+    }
+
+    @Test
+    public void recognisesCommandWithoutArguments() {
+        Call call = CommandRouter.route("!ping");
+        assertEquals(Command.PING, call.command());
+        assertEquals(0, call.args().length);
+        assertEquals(0, args("!help ").length);
+    }
+
+    @Test
+    public void acceptsNewlineAfterName() {
+        Call call = CommandRouter.route("!newpoll\nname;question;option");
+        assertEquals(Command.NEWPOLL, call.command());
+        assertArrayEquals(new String[] { "name", "question", "option" }, call.args());
+    }
+
+    @Test
+    public void splitsAtSeparator() {
+        assertArrayEquals(new String[] { "a", "b", "c", "d", "e", "f" }, args("!newpoll a;b;c;d;e;f"));
+    }
+
+    @Test
+    public void keepsTrailingEmptyArgument() {
+        assertArrayEquals(new String[] { "x", "" }, args("!poke x;"));
+    }
+
+    @Test
+    public void dropsTrailingEmptyPollOptions() {
+        assertArrayEquals(new String[] { "a", "b" }, Bot.pollOptions(args("!newpoll n;q;a;b;")));
+        assertArrayEquals(new String[] { "a", "", "b" }, Bot.pollOptions(args("!newpoll n;q;a;;b; ;")));
+        assertEquals(0, Bot.pollOptions(args("!newpoll n;q;")).length);
+        assertEquals(0, Bot.pollOptions(args("!newpoll n")).length);
+    }
+
+    @Test
+    public void escapesSeparator() {
+        assertArrayEquals(new String[] { "a;b", "c" }, args("!newpoll a\\;b;c"));
+    }
+
+    @Test
+    public void escapesQuoteAndEscape() {
+        assertArrayEquals(new String[] { "a\"b\\c" }, args("!newpoll a\\\"b\\\\c"));
+    }
+
+    @Test
+    public void keepsOtherBackslashes() {
+        assertArrayEquals(new String[] { "a\\b" }, args("!newpoll a\\b"));
+    }
+
+    @Test
+    public void quotesSeparator() {
+        assertArrayEquals(new String[] { "a;b", "c" }, args("!newpoll \"a;b\";c"));
+        assertArrayEquals(new String[] { "Pizza; Pasta", "d" }, args("!newpoll Pizza\"; \"Pasta;d"));
+    }
+
+    @Test
+    public void takesUnclosedQuoteLiterally() {
+        assertArrayEquals(new String[] { "n", "5\" Pizza", "o1", "o2" }, args("!newpoll n;5\" Pizza;o1;o2"));
+        assertArrayEquals(new String[] { "a;b", "c\"d", "e" }, args("!newpoll \"a;b\";c\"d;e"));
+    }
+}
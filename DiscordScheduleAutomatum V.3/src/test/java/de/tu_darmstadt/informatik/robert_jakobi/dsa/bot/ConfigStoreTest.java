@@ -0,0 +1,114 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.bot;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.GuildConfig;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.Reply;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.FileManager;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.SystemProperties;
+
+/**
+ * Tests of loading and reloading {@link ConfigStore} from the configuration
+ * directory of the working directory.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+public class ConfigStoreTest {
+    private final Path directory = FileManager.getPath(SystemProperties.configPath);
+
+    private ConfigStore store;
+
+    @Before
+    @After
+    public void clear() throws IOException {
+        if (this.store != null) this.store.shutdown();
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for (Path file : files.toList()) Files.delete(file);
+        }
+    }
+
+    private void write(String name, String content) throws IOException {
+        Files.writeString(this.directory.resolve(name + ".properties"), content);
+    }
+
+    private GuildConfig get(String guildId) {
+        return this.store.get(guildId);
+    }
+
+    @Test
+    public void layersGuildFilesOnDefaults() throws IOException {
+        this.write("default", "channel=termine\ntext.ping=pong!\n");
+        this.write("1", "text.ping=hi\n");
+        this.store = new ConfigStore();
+
+        assertEquals("termine", this.get("1").getChannelName());
+        assertEquals("hi", this.get("1").reply(Reply.PONG));
+        assertEquals("pong!", this.get("2").reply(Reply.PONG));
+        assertEquals("Poll does not exist", this.get("2").reply(Reply.POLL_MISSING));
+    }
+
+    @Test
+    public void usesDefaultsForBrokenGuildFiles() throws IOException {
+        this.write("default", "channel=termine\n");
+        this.write("1", "ical.template=missing.ical\n");
+        this.write("2", "text.ping=pong %s\n");
+        this.write("3", "text.endpoll.found=%2$s\n");
+        this.write("4", "text.ping=hi\n");
+        this.store = new ConfigStore();
+
+        for (String guild : new String[] { "1", "2", "3" }) {
+            assertEquals("termine", this.get(guild).getChannelName());
+            assertEquals("pong", this.get(guild).reply(Reply.PONG));
+        }
+        assertEquals("hi", this.get("4").reply(Reply.PONG));
+    }
+
+    @Test
+    public void keepsPreviousGuildConfigOnBrokenReload() throws IOException {
+        this.write("1", "text.ping=hi\n");
+        this.store = new ConfigStore();
+
+        this.write("1", "text.ping=%1$s\n");
+        this.write("2", "text.ping=new\n");
+        this.store.reload();
+        assertEquals("hi", this.get("1").reply(Reply.PONG));
+        assertEquals("new", this.get("2").reply(Reply.PONG));
+    }
+
+    @Test
+    public void keepsPreviousDefaultsOnBrokenReload() throws IOException {
+        this.write("default", "channel=termine\n");
+        this.write("1", "text.ping=hi\n");
+        this.store = new ConfigStore();
+
+        this.write("default", "channel=other\ntext.ping=%s\n");
+        this.write("1", "text.ping=ho\n");
+        this.store.reload();
+        assertEquals("termine", this.get("1").getChannelName());
+        assertEquals("ho", this.get("1").reply(Reply.PONG));
+        assertEquals("termine", this.get("2").getChannelName());
+    }
+
+    @Test
+    public void picksUpValidChanges() throws IOException {
+        this.store = new ConfigStore();
+        assertEquals("schedule", this.get("1").getChannelName());
+
+        this.write("default", "channel=termine\ndisabled=!poke, !who\n");
+        this.store.reload();
+        assertEquals("termine", this.get("1").getChannelName());
+        assertEquals(true, this.get("1").isDisabled("!who"));
+        assertEquals(false, this.get("1").isDisabled("!ping"));
+    }
+}
@@ -0,0 +1,79 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.struc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.struc.AvailabilityIndex.Availability;
+
+/**
+ * Tests of recording votes in and querying an {@link AvailabilityIndex}.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+public class AvailabilityIndexTest {
+    private static final String CHANNEL = "7";
+
+    private final AvailabilityIndex index = new AvailabilityIndex();
+
+    @Test
+    public void findsCommonOptions() {
+        Poll first = new Poll("first", "question", new String[] { "Mon", "Tue" });
+        Poll second = new Poll("second", "question", new String[] { "Tue", "Wed" });
+        this.index.track(first);
+        this.index.track(second);
+        this.index.add(CHANNEL, first, 0, "a");
+        this.index.add(CHANNEL, first, 1, "a");
+        this.index.add(CHANNEL, second, 0, "b");
+        this.index.add(CHANNEL, second, 1, "b");
+        this.index.remove(CHANNEL, second, 1, "b");
+
+        List<Availability> options = this.index.query(List.of(first, second));
+        assertEquals(List.of(new Availability("Mon", 1, 2), new Availability("Tue", 2, 2),
+                new Availability("Wed", 0, 2)), options);
+        assertTrue(options.get(1).isCommon());
+    }
+
+    @Test
+    public void ignoresVotesOfUntrackedPolls() {
+        Poll poll = new Poll("poll", "question", new String[] { "Mon" });
+        this.index.add(CHANNEL, poll, 0, "a");
+        this.index.track(poll);
+        this.index.forget(poll);
+        this.index.add(CHANNEL, poll, 0, "a");
+        this.index.reset(CHANNEL, poll, 0, List.of("a"));
+
+        assertTrue(this.index.query(List.of(poll)).isEmpty());
+    }
+
+    @Test
+    public void doesNotInheritVotesOfPollWithSameName() {
+        Poll old = new Poll("poll", "question", new String[] { "Mon" });
+        this.index.track(old);
+        this.index.add(CHANNEL, old, 0, "a");
+        this.index.forget(old);
+        this.index.add(CHANNEL, old, 0, "a");
+
+        Poll renewed = new Poll("poll", "question", new String[] { "Mon", "Tue", "Wed" });
+        this.index.track(renewed);
+        this.index.add(CHANNEL, renewed, 2, "b");
+        this.index.add(CHANNEL, old, 0, "c");
+
+        assertEquals(List.of(new Availability("Mon", 0, 1), new Availability("Tue", 0, 1),
+                new Availability("Wed", 1, 1)), this.index.query(List.of(renewed)));
+    }
+
+    @Test
+    public void ignoresUnknownOptions() {
+        Poll poll = new Poll("poll", "question", new String[] { "Mon" });
+        this.index.track(poll);
+        this.index.add(CHANNEL, poll, 3, "a");
+
+        assertEquals(List.of(new Availability("Mon", 0, 0)), this.index.query(List.of(poll)));
+    }
+}
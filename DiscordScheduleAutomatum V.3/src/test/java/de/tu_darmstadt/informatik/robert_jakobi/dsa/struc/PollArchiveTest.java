@@ -0,0 +1,218 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.struc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.FileManager;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.SystemProperties;
+
+/**
+ * Tests of exporting and importing a {@link PollArchive} of the poll and
+ * recurrence files of the working directory.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+public class PollArchiveTest {
+    private static final String QUESTION = "When do we meet?";
+
+    private final Path polls = FileManager.getPath(SystemProperties.pollsPath);
+    private final Path finishedPolls = FileManager.getPath(SystemProperties.finishedPollsPath);
+    private final Path recurrences = FileManager.getPath(SystemProperties.recurrencesPath);
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    @After
+    public void clear() throws IOException {
+        for (Path directory : new Path[] { this.polls, this.finishedPolls, this.recurrences }) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) Files.delete(file);
+            }
+        }
+    }
+
+    private static int count(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return (int) files.count();
+        }
+    }
+
+    /**
+     * Writes an archive without polls but with given header.
+     */
+    private Path archive(int magic, int version) throws IOException {
+        Path archive = this.folder.newFile().toPath();
+        try (CheckedOutputStream checked = new CheckedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(archive)), new CRC32());
+                DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeInt(magic);
+            out.writeInt(version);
+            out.writeByte(0);
+            out.writeInt(0);
+            out.flush();
+            out.writeLong(checked.getChecksum().getValue());
+        }
+        return archive;
+    }
+
+    private Path exportSingle(Poll poll) throws IOException {
+        assertTrue(poll.saveToFile());
+        Path archive = this.folder.newFile().toPath();
+        assertEquals(1, PollArchive.exportTo(archive));
+        this.clear();
+        return archive;
+    }
+
+    @Test
+    public void restoresPollsAndRecurrences() throws IOException {
+        Poll active = new Poll("active", QUESTION, new String[] { "Mon", "Tue" });
+        active.setMessageId("42");
+        active.setChannelId("7");
+        active.setReactionCount(1, 3);
+        assertTrue(active.saveToFile());
+        Poll finished = new Poll("finished", QUESTION, new String[] { "Wed" });
+        assertTrue(finished.saveToFile(this.finishedPolls.resolve("finished").toFile()));
+        Instant opened = Instant.ofEpochSecond(1_650_000_000L, 123);
+        Recurrence recurrence = new Recurrence("weekly", QUESTION, "1", "7", DayOfWeek.MONDAY, LocalTime.of(9, 30),
+                DayOfWeek.FRIDAY, LocalTime.NOON, opened, opened.plusSeconds(60));
+        assertTrue(recurrence.saveToFile());
+
+        Path archive = this.folder.newFile().toPath();
+        assertEquals(3, PollArchive.exportTo(archive));
+        this.clear();
+        assertEquals(3, PollArchive.importFrom(archive));
+
+        Poll restored = Poll.loadFromFile(this.polls.resolve("active").toFile());
+        assertEquals(active.getUuid(), restored.getUuid());
+        assertEquals(QUESTION, restored.getQuestion());
+        assertEquals("42", restored.getMessageId());
+        assertEquals("7", restored.getChannelId());
+        assertEquals("Tue", restored.getOption(1));
+        assertEquals(3, restored.getReactionCount(1));
+        assertEquals(finished.getUuid(), Poll.loadFromFile(this.finishedPolls.resolve("finished").toFile()).getUuid());
+
+        Recurrence restoredRecurrence = Recurrence.loadFromFile(this.recurrences.resolve("weekly").toFile());
+        assertEquals("1", restoredRecurrence.getGuildId());
+        assertEquals("7", restoredRecurrence.getChannelId());
+        assertEquals(DayOfWeek.MONDAY, restoredRecurrence.getOpenDay());
+        assertEquals(LocalTime.of(9, 30), restoredRecurrence.getOpenTime());
+        assertEquals(DayOfWeek.FRIDAY, restoredRecurrence.getCloseDay());
+        assertEquals(LocalTime.NOON, restoredRecurrence.getCloseTime());
+        assertEquals(opened, restoredRecurrence.getLastOpened());
+        assertEquals(opened.plusSeconds(60), restoredRecurrence.getLastClosed());
+    }
+
+    @Test
+    public void rejectsFlippedByte() throws IOException {
+        Path archive = this.exportSingle(new Poll("flipped", QUESTION, new String[] { "a" }));
+        byte[] content;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archive))) {
+            content = in.readAllBytes();
+        }
+        byte[] question = QUESTION.getBytes(StandardCharsets.UTF_8);
+        int at = indexOf(content, question);
+        assertTrue(at >= 0);
+        content[at] ^= 1;
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(archive))) {
+            out.write(content);
+        }
+
+        try {
+            PollArchive.importFrom(archive);
+            fail();
+        } catch (IOException e) {
+            assertEquals("Checksum does not match", e.getMessage());
+        }
+        assertEquals(0, count(this.polls));
+    }
+
+    @Test
+    public void rejectsBadMagic() throws IOException {
+        try {
+            PollArchive.importFrom(this.archive(0xCAFEBABE, 1));
+            fail();
+        } catch (InvalidObjectException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void rejectsNewerVersion() throws IOException {
+        try {
+            PollArchive.importFrom(this.archive(0x44534158, 99));
+            fail();
+        } catch (InvalidObjectException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void readsEmptyArchiveOfOlderVersion() throws IOException {
+        assertEquals(0, PollArchive.importFrom(this.archive(0x44534158, 1)));
+    }
+
+    @Test
+    public void rejectsNameLeavingDirectory() throws IOException {
+        Path archive = this.exportSingle(new Poll("escaped", QUESTION, new String[] { "a" }));
+        byte[] content;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archive))) {
+            content = in.readAllBytes();
+        }
+        // Same length, so only the checksum is stale, which is checked last
+        byte[] name = "escaped".getBytes(StandardCharsets.UTF_8);
+        int at = indexOf(content, name);
+        assertTrue(at >= 0);
+        System.arraycopy("../esca".getBytes(StandardCharsets.UTF_8), 0, content, at, name.length);
+        ByteArrayOutputStream patched = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(patched)) {
+            out.write(content);
+        }
+        Files.write(archive, patched.toByteArray());
+
+        try {
+            PollArchive.importFrom(archive);
+            fail();
+        } catch (InvalidObjectException e) {
+            assertTrue(e.getMessage().startsWith("Invalid file name"));
+        }
+        assertEquals(0, count(this.polls));
+    }
+
+    private static int indexOf(byte[] content, byte[] part) {
+        outer: for (int i = 0; i <= content.length - part.length; i++) {
+            for (int j = 0; j < part.length; j++) {
+                if (content[i + j] != part[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+}
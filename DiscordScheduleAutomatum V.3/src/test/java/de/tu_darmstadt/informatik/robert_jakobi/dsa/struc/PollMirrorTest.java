@@ -0,0 +1,84 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.struc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.FileManager;
+import de.tu_darmstadt.informatik.robert_jakobi.dsa.util.SystemProperties;
+
+/**
+ * Tests of {@link PollMirror} on the poll files of the working directory.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+public class PollMirrorTest {
+    private static final String NAME = "mirrored";
+
+    private final Path polls = FileManager.getPath(SystemProperties.pollsPath);
+
+    @Before
+    @After
+    public void clear() throws IOException {
+        try (Stream<Path> files = Files.list(this.polls)) {
+            for (Path file : files.toList()) Files.delete(file);
+        }
+    }
+
+    /**
+     * Sets the modification time of given file to the given amount of seconds
+     * from now, so changes are detected regardless of file system resolution.
+     */
+    private static void touch(Path file, long seconds) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(seconds)));
+    }
+
+    @Test
+    public void mirrorsSavedPolls() {
+        Poll poll = new Poll(NAME, "question", new String[] { "a", "b" });
+        assertTrue(poll.saveToFile());
+        assertEquals(poll.getUuid(), new PollMirror().refresh().get(NAME).getUuid());
+    }
+
+    @Test
+    public void keepsLastGoodCopyWhileFileIsUnreadable() throws IOException {
+        Poll poll = new Poll(NAME, "question", new String[] { "a", "b" });
+        assertTrue(poll.saveToFile());
+        PollMirror mirror = new PollMirror();
+        assertEquals(poll.getUuid(), mirror.refresh().get(NAME).getUuid());
+
+        Path file = this.polls.resolve(NAME);
+        Files.write(file, new byte[] { 1, 2, 3 });
+        touch(file, 10);
+        assertEquals(poll.getUuid(), mirror.refresh().get(NAME).getUuid());
+        // Retried, as the file could not be read before
+        assertEquals(poll.getUuid(), mirror.refresh().get(NAME).getUuid());
+
+        Poll rewritten = new Poll(NAME, "changed", new String[] { "c" });
+        assertTrue(rewritten.saveToFile());
+        touch(file, 20);
+        assertEquals(rewritten.getUuid(), mirror.refresh().get(NAME).getUuid());
+    }
+
+    @Test
+    public void dropsDeletedPolls() throws IOException {
+        assertTrue(new Poll(NAME, "question", new String[] { "a" }).saveToFile());
+        PollMirror mirror = new PollMirror();
+        assertEquals(1, mirror.refresh().size());
+
+        Files.delete(this.polls.resolve(NAME));
+        assertTrue(mirror.refresh().isEmpty());
+    }
+}
@@ -0,0 +1,65 @@
+package de.tu_darmstadt.informatik.robert_jakobi.dsa.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests of compiling and rendering {@link Template templates}.
+ *
+ * @author Big_Reddy
+ * @since 17
+ * @version 1
+ */
+public class TemplateTest {
+
+    @Test
+    public void rendersLiteralText() {
+        assertEquals("pong", Template.compile("pong", 0).render());
+    }
+
+    @Test
+    public void rendersSequentialArguments() {
+        assertEquals("a-b-c", Template.compile("%s-%s-%s", 3).render("a", "b", "c"));
+    }
+
+    @Test
+    public void rendersPositionalArguments() {
+        assertEquals("b a b", Template.compile("%2$s %1$s %2$s", 2).render("a", "b"));
+    }
+
+    @Test
+    public void rendersEscapes() {
+        assertEquals("100% " + System.lineSeparator() + "x", Template.compile("100%% %n%s", 1).render("x"));
+    }
+
+    @Test
+    public void allowsUnusedArguments() {
+        assertEquals("done", Template.compile("done", 1).render("unused"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMissingSequentialArgument() {
+        Template.compile("pong %s", 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMissingPositionalArgument() {
+        Template.compile("%2$s", 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsArgumentZero() {
+        Template.compile("%0$s", 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnsupportedSpecifier() {
+        Template.compile("%d", 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsIncompleteSpecifier() {
+        Template.compile("50%", 0);
+    }
+}